@@ -4,6 +4,8 @@ import com.InventoryFlow.InventoryFlow.entity.Role;
 import com.InventoryFlow.InventoryFlow.entity.User;
 import com.InventoryFlow.InventoryFlow.repository.RoleRepository;
 import com.InventoryFlow.InventoryFlow.repository.UserRepository;
+import com.InventoryFlow.InventoryFlow.service.InventoryCostingService;
+import com.InventoryFlow.InventoryFlow.service.StockLedgerService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -23,6 +25,12 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private InventoryCostingService inventoryCostingService;
+
     @Override
     public void run(String... args) throws Exception {
         // Initialize roles
@@ -57,6 +65,10 @@ public class DataInitializer implements CommandLineRunner {
 
             userRepository.save(admin);
         }
+
+        // Seed the stock ledger with the balances that predate it
+        stockLedgerService.recordOpeningBalances();
+        inventoryCostingService.recordOpeningBalances();
     }
 }
 
@@ -0,0 +1,40 @@
+package com.InventoryFlow.InventoryFlow.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts a {@link JdbcPermitDataSource} in front of the application data source.
+ * On by default when virtual threads are enabled (Java 21+), where request
+ * concurrency is no longer capped by the Tomcat thread pool.
+ */
+@Configuration
+public class JdbcPermitConfig {
+
+    @Bean
+    public static BeanPostProcessor jdbcPermitPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof JdbcPermitDataSource
+                        || !environment.getProperty("inventoryflow.jdbc-permits.enabled", Boolean.class,
+                                Threading.VIRTUAL.isActive(environment))) {
+                    return bean;
+                }
+                // Defaults to the pool size, so permit holders never wait inside the pool
+                int permits = environment.getProperty("inventoryflow.jdbc-permits.max", Integer.class, 0);
+                if (permits <= 0) {
+                    permits = bean instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+                }
+                long timeoutMillis = environment.getProperty("inventoryflow.jdbc-permits.timeout-ms", Long.class, 60000L);
+                return new JdbcPermitDataSource(dataSource, permits, timeoutMillis);
+            }
+        };
+    }
+}
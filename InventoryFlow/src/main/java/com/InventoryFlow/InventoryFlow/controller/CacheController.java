@@ -0,0 +1,32 @@
+package com.InventoryFlow.InventoryFlow.controller;
+
+import com.InventoryFlow.InventoryFlow.dto.ApiResponse;
+import com.InventoryFlow.InventoryFlow.dto.CacheStatsDTO;
+import com.InventoryFlow.InventoryFlow.security.PrincipalCache;
+import com.InventoryFlow.InventoryFlow.service.ReferenceDataCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/caches")
+@CrossOrigin(origins = "*")
+public class CacheController {
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    // Size, hit, miss, eviction and expiration counts of the reference data and principal caches
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<CacheStatsDTO>>> getCacheStats() {
+        List<CacheStatsDTO> stats = new ArrayList<>(referenceDataCache.getStats());
+        stats.add(principalCache.getStats());
+        return ResponseEntity.ok(ApiResponse.success(stats));
+    }
+}
@@ -2,6 +2,7 @@ package com.InventoryFlow.InventoryFlow.controller;
 
 import com.InventoryFlow.InventoryFlow.dto.ApiResponse;
 import com.InventoryFlow.InventoryFlow.dto.GoodsIssueNoteDTO;
+import com.InventoryFlow.InventoryFlow.dto.PageQuery;
 import com.InventoryFlow.InventoryFlow.service.GoodsIssueNoteService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,9 +32,15 @@ public class GINController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<GoodsIssueNoteDTO>>> getAllGINs() {
-        List<GoodsIssueNoteDTO> gins = ginService.getAllGINs();
-        return ResponseEntity.ok(ApiResponse.success(gins));
+    public ResponseEntity<ApiResponse<?>> getAllGINs(PageQuery pageQuery) {
+        try {
+            if (!pageQuery.isPaged()) {
+                return ResponseEntity.ok(ApiResponse.success(ginService.getAllGINs()));
+            }
+            return ResponseEntity.ok(ApiResponse.success(ginService.getGINsPage(pageQuery)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
     }
 
     @GetMapping("/{id}")
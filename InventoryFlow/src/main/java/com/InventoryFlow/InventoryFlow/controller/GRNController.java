@@ -2,6 +2,7 @@ package com.InventoryFlow.InventoryFlow.controller;
 
 import com.InventoryFlow.InventoryFlow.dto.ApiResponse;
 import com.InventoryFlow.InventoryFlow.dto.GoodsReceiveNoteDTO;
+import com.InventoryFlow.InventoryFlow.dto.PageQuery;
 import com.InventoryFlow.InventoryFlow.service.GoodsReceiveNoteService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,9 +32,15 @@ public class GRNController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<GoodsReceiveNoteDTO>>> getAllGRNs() {
-        List<GoodsReceiveNoteDTO> grns = grnService.getAllGRNs();
-        return ResponseEntity.ok(ApiResponse.success(grns));
+    public ResponseEntity<ApiResponse<?>> getAllGRNs(PageQuery pageQuery) {
+        try {
+            if (!pageQuery.isPaged()) {
+                return ResponseEntity.ok(ApiResponse.success(grnService.getAllGRNs()));
+            }
+            return ResponseEntity.ok(ApiResponse.success(grnService.getGRNsPage(pageQuery)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
     }
 
     @GetMapping("/{id}")
@@ -2,6 +2,7 @@ package com.InventoryFlow.InventoryFlow.controller;
 
 import com.InventoryFlow.InventoryFlow.dto.ApiResponse;
 import com.InventoryFlow.InventoryFlow.dto.InvoiceDTO;
+import com.InventoryFlow.InventoryFlow.dto.PageQuery;
 import com.InventoryFlow.InventoryFlow.service.InvoiceService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,9 +32,15 @@ public class InvoiceController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<InvoiceDTO>>> getAllInvoices() {
-        List<InvoiceDTO> invoices = invoiceService.getAllInvoices();
-        return ResponseEntity.ok(ApiResponse.success(invoices));
+    public ResponseEntity<ApiResponse<?>> getAllInvoices(PageQuery pageQuery) {
+        try {
+            if (!pageQuery.isPaged()) {
+                return ResponseEntity.ok(ApiResponse.success(invoiceService.getAllInvoices()));
+            }
+            return ResponseEntity.ok(ApiResponse.success(invoiceService.getInvoicesPage(pageQuery)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
     }
 
     @GetMapping("/{id}")
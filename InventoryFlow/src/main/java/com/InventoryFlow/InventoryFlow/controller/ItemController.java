@@ -2,6 +2,8 @@ package com.InventoryFlow.InventoryFlow.controller;
 
 import com.InventoryFlow.InventoryFlow.dto.ApiResponse;
 import com.InventoryFlow.InventoryFlow.dto.ItemDTO;
+import com.InventoryFlow.InventoryFlow.dto.ItemSearchResultDTO;
+import com.InventoryFlow.InventoryFlow.dto.PageQuery;
 import com.InventoryFlow.InventoryFlow.service.ItemService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,9 +31,26 @@ public class ItemController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<ItemDTO>>> getAllItems() {
-        List<ItemDTO> items = itemService.getAllItems();
-        return ResponseEntity.ok(ApiResponse.success(items));
+    public ResponseEntity<ApiResponse<?>> getAllItems(PageQuery pageQuery) {
+        try {
+            if (!pageQuery.isPaged()) {
+                return ResponseEntity.ok(ApiResponse.success(itemService.getAllItems()));
+            }
+            return ResponseEntity.ok(ApiResponse.success(itemService.getItemsPage(pageQuery)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<ItemSearchResultDTO>>> searchItems(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(itemService.searchItems(q, limit)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
     }
 
     @GetMapping("/active")
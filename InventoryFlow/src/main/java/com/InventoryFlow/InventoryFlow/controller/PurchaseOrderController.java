@@ -1,6 +1,7 @@
 package com.InventoryFlow.InventoryFlow.controller;
 
 import com.InventoryFlow.InventoryFlow.dto.ApiResponse;
+import com.InventoryFlow.InventoryFlow.dto.PageQuery;
 import com.InventoryFlow.InventoryFlow.dto.PurchaseOrderDTO;
 import com.InventoryFlow.InventoryFlow.service.PurchaseOrderService;
 import jakarta.validation.Valid;
@@ -59,9 +60,15 @@ public class PurchaseOrderController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<PurchaseOrderDTO>>> getAllPOs() {
-        List<PurchaseOrderDTO> pos = poService.getAllPOs();
-        return ResponseEntity.ok(ApiResponse.success(pos));
+    public ResponseEntity<ApiResponse<?>> getAllPOs(PageQuery pageQuery) {
+        try {
+            if (!pageQuery.isPaged()) {
+                return ResponseEntity.ok(ApiResponse.success(poService.getAllPOs()));
+            }
+            return ResponseEntity.ok(ApiResponse.success(poService.getPOsPage(pageQuery)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
     }
 
     @GetMapping("/{id}")
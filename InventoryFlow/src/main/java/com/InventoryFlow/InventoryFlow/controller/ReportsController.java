@@ -1,33 +1,53 @@
 package com.InventoryFlow.InventoryFlow.controller;
 
 import com.InventoryFlow.InventoryFlow.dto.ApiResponse;
+import com.InventoryFlow.InventoryFlow.dto.ProfitCubeRowDTO;
 import com.InventoryFlow.InventoryFlow.dto.PurchaseReportDTO;
+import com.InventoryFlow.InventoryFlow.dto.ReportJobDTO;
+import com.InventoryFlow.InventoryFlow.dto.ReportJobRequest;
 import com.InventoryFlow.InventoryFlow.dto.SalesReportDTO;
 import com.InventoryFlow.InventoryFlow.dto.SupplierPurchaseHistoryDTO;
+import com.InventoryFlow.InventoryFlow.service.ProfitAnalyticsService;
 import com.InventoryFlow.InventoryFlow.service.ReportsService;
 import com.InventoryFlow.InventoryFlow.service.ReportExportService;
+import com.InventoryFlow.InventoryFlow.service.ReportJobService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/reports")
 @CrossOrigin(origins = "*")
 public class ReportsController {
 
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv; charset=UTF-8");
+
+    private static final MediaType EXCEL =
+            MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
     @Autowired
     private ReportsService reportsService;
 
     @Autowired
     private ReportExportService reportExportService;
 
+    @Autowired
+    private ReportJobService reportJobService;
+
+    @Autowired
+    private ProfitAnalyticsService profitAnalyticsService;
+
     @GetMapping("/stock")
     public ResponseEntity<ApiResponse<?>> getStockReport() {
         var report = reportsService.getStockReport();
@@ -70,134 +90,191 @@ public class ReportsController {
         return ResponseEntity.ok(ApiResponse.success(profit));
     }
 
-    // PDF Export Endpoints
-    @GetMapping("/export/stock/pdf")
-    public ResponseEntity<byte[]> exportStockReportPDF() {
+    // Profit by any combination of item, category, customer and month, e.g. groupBy=category,month
+    @GetMapping("/profit/cube")
+    public ResponseEntity<ApiResponse<List<ProfitCubeRowDTO>>> getProfitCube(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String groupBy) {
         try {
-            byte[] pdfBytes = reportExportService.exportStockReportToPDF();
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment", "stock-report.pdf");
-            return ResponseEntity.ok().headers(headers).body(pdfBytes);
+            List<ProfitCubeRowDTO> cube = profitAnalyticsService.getProfitCube(startDate, endDate,
+                    profitAnalyticsService.parseDimensions(groupBy));
+            return ResponseEntity.ok(ApiResponse.success(cube));
         } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
+    // PDF Export Endpoints - the report is written to the response as it is generated
+    @GetMapping("/export/stock/pdf")
+    public ResponseEntity<StreamingResponseBody> exportStockReportPDF() {
+        return download(MediaType.APPLICATION_PDF, "stock-report.pdf",
+                out -> reportExportService.writeStockReportPDF(out));
+    }
+
     @GetMapping("/export/low-stock/pdf")
-    public ResponseEntity<byte[]> exportLowStockReportPDF() {
-        try {
-            byte[] pdfBytes = reportExportService.exportLowStockReportToPDF();
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment", "low-stock-report.pdf");
-            return ResponseEntity.ok().headers(headers).body(pdfBytes);
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
-        }
+    public ResponseEntity<StreamingResponseBody> exportLowStockReportPDF() {
+        return download(MediaType.APPLICATION_PDF, "low-stock-report.pdf",
+                out -> reportExportService.writeLowStockReportPDF(out));
     }
 
     @GetMapping("/export/purchase/pdf")
-    public ResponseEntity<byte[]> exportPurchaseReportPDF(
+    public ResponseEntity<StreamingResponseBody> exportPurchaseReportPDF(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        try {
-            byte[] pdfBytes = reportExportService.exportPurchaseReportToPDF(startDate, endDate);
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment", "purchase-report.pdf");
-            return ResponseEntity.ok().headers(headers).body(pdfBytes);
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
-        }
+        return download(MediaType.APPLICATION_PDF, "purchase-report.pdf",
+                out -> reportExportService.writePurchaseReportPDF(startDate, endDate, out));
     }
 
     @GetMapping("/export/sales/pdf")
-    public ResponseEntity<byte[]> exportSalesReportPDF(
+    public ResponseEntity<StreamingResponseBody> exportSalesReportPDF(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        try {
-            byte[] pdfBytes = reportExportService.exportSalesReportToPDF(startDate, endDate);
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment", "sales-report.pdf");
-            return ResponseEntity.ok().headers(headers).body(pdfBytes);
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
-        }
+        return download(MediaType.APPLICATION_PDF, "sales-report.pdf",
+                out -> reportExportService.writeSalesReportPDF(startDate, endDate, out));
     }
 
     @GetMapping("/export/profit/pdf")
-    public ResponseEntity<byte[]> exportProfitReportPDF(
+    public ResponseEntity<StreamingResponseBody> exportProfitReportPDF(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        try {
-            byte[] pdfBytes = reportExportService.exportProfitReportToPDF(startDate, endDate);
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment", "profit-report.pdf");
-            return ResponseEntity.ok().headers(headers).body(pdfBytes);
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
-        }
+        return download(MediaType.APPLICATION_PDF, "profit-report.pdf",
+                out -> reportExportService.writeProfitReportPDF(startDate, endDate, out));
+    }
+
+    @GetMapping("/export/profit-cube/pdf")
+    public ResponseEntity<StreamingResponseBody> exportProfitCubePDF(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String groupBy) {
+        Set<ProfitAnalyticsService.Dimension> dimensions = profitAnalyticsService.parseDimensions(groupBy);
+        return download(MediaType.APPLICATION_PDF, "profit-analysis.pdf",
+                out -> reportExportService.writeProfitCubePDF(startDate, endDate, dimensions, out));
     }
 
     // Excel Export Endpoints
     @GetMapping("/export/stock/excel")
-    public ResponseEntity<byte[]> exportStockReportExcel() {
-        try {
-            byte[] excelBytes = reportExportService.exportStockReportToExcel();
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
-            headers.setContentDispositionFormData("attachment", "stock-report.xlsx");
-            return ResponseEntity.ok().headers(headers).body(excelBytes);
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
-        }
+    public ResponseEntity<StreamingResponseBody> exportStockReportExcel() {
+        return download(EXCEL, "stock-report.xlsx",
+                out -> reportExportService.writeStockReportExcel(out));
     }
 
     @GetMapping("/export/low-stock/excel")
-    public ResponseEntity<byte[]> exportLowStockReportExcel() {
-        try {
-            byte[] excelBytes = reportExportService.exportLowStockReportToExcel();
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
-            headers.setContentDispositionFormData("attachment", "low-stock-report.xlsx");
-            return ResponseEntity.ok().headers(headers).body(excelBytes);
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
-        }
+    public ResponseEntity<StreamingResponseBody> exportLowStockReportExcel() {
+        return download(EXCEL, "low-stock-report.xlsx",
+                out -> reportExportService.writeLowStockReportExcel(out));
     }
 
     @GetMapping("/export/purchase/excel")
-    public ResponseEntity<byte[]> exportPurchaseReportExcel(
+    public ResponseEntity<StreamingResponseBody> exportPurchaseReportExcel(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        try {
-            byte[] excelBytes = reportExportService.exportPurchaseReportToExcel(startDate, endDate);
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
-            headers.setContentDispositionFormData("attachment", "purchase-report.xlsx");
-            return ResponseEntity.ok().headers(headers).body(excelBytes);
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
-        }
+        return download(EXCEL, "purchase-report.xlsx",
+                out -> reportExportService.writePurchaseReportExcel(startDate, endDate, out));
     }
 
     @GetMapping("/export/sales/excel")
-    public ResponseEntity<byte[]> exportSalesReportExcel(
+    public ResponseEntity<StreamingResponseBody> exportSalesReportExcel(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return download(EXCEL, "sales-report.xlsx",
+                out -> reportExportService.writeSalesReportExcel(startDate, endDate, out));
+    }
+
+    @GetMapping("/export/profit-cube/excel")
+    public ResponseEntity<StreamingResponseBody> exportProfitCubeExcel(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String groupBy) {
+        Set<ProfitAnalyticsService.Dimension> dimensions = profitAnalyticsService.parseDimensions(groupBy);
+        return download(EXCEL, "profit-analysis.xlsx",
+                out -> reportExportService.writeProfitCubeExcel(startDate, endDate, dimensions, out));
+    }
+
+    // CSV and NDJSON Export Endpoints - rows are written as they are read from the database
+    @GetMapping("/export/stock/csv")
+    public ResponseEntity<StreamingResponseBody> exportStockReportCsv() {
+        return download(CSV, "stock-report.csv",
+                out -> reportExportService.writeStockReportCsv(out));
+    }
+
+    @GetMapping("/export/purchase/csv")
+    public ResponseEntity<StreamingResponseBody> exportPurchaseReportCsv(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return download(CSV, "purchase-report.csv",
+                out -> reportExportService.writePurchaseReportCsv(startDate, endDate, out));
+    }
+
+    @GetMapping("/export/sales/csv")
+    public ResponseEntity<StreamingResponseBody> exportSalesReportCsv(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return download(CSV, "sales-report.csv",
+                out -> reportExportService.writeSalesReportCsv(startDate, endDate, out));
+    }
+
+    @GetMapping("/export/stock/ndjson")
+    public ResponseEntity<StreamingResponseBody> exportStockReportNdjson() {
+        return download(MediaType.APPLICATION_NDJSON, "stock-report.ndjson",
+                out -> reportExportService.writeStockReportNdjson(out));
+    }
+
+    @GetMapping("/export/purchase/ndjson")
+    public ResponseEntity<StreamingResponseBody> exportPurchaseReportNdjson(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return download(MediaType.APPLICATION_NDJSON, "purchase-report.ndjson",
+                out -> reportExportService.writePurchaseReportNdjson(startDate, endDate, out));
+    }
+
+    @GetMapping("/export/sales/ndjson")
+    public ResponseEntity<StreamingResponseBody> exportSalesReportNdjson(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return download(MediaType.APPLICATION_NDJSON, "sales-report.ndjson",
+                out -> reportExportService.writeSalesReportNdjson(startDate, endDate, out));
+    }
+
+    // Background report jobs - submit, poll until COMPLETED, then download
+    @PostMapping("/jobs")
+    public ResponseEntity<ApiResponse<ReportJobDTO>> submitReportJob(@RequestBody ReportJobRequest request) {
         try {
-            byte[] excelBytes = reportExportService.exportSalesReportToExcel(startDate, endDate);
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
-            headers.setContentDispositionFormData("attachment", "sales-report.xlsx");
-            return ResponseEntity.ok().headers(headers).body(excelBytes);
+            ReportJobDTO job = reportJobService.submit(request);
+            return ResponseEntity.ok(ApiResponse.success(job.isCached() ? "Report served from cache" : "Report job queued", job));
         } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<ReportJobDTO>> getReportJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(reportJobService.getJob(jobId)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
-}
 
+    @GetMapping("/jobs/{jobId}/download")
+    public ResponseEntity<?> downloadReportJob(@PathVariable String jobId) {
+        try {
+            Path file = reportJobService.getArtifact(jobId);
+            String fileName = reportJobService.getFileName(jobId);
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(fileName.endsWith(".pdf") ? MediaType.APPLICATION_PDF : EXCEL);
+            headers.setContentDispositionFormData("attachment", fileName);
+            return ResponseEntity.ok().headers(headers).body(new FileSystemResource(file));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
 
+    // No Content-Length is set, so the body goes out with chunked transfer encoding
+    private ResponseEntity<StreamingResponseBody> download(MediaType contentType, String filename, StreamingResponseBody body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        headers.setContentDispositionFormData("attachment", filename);
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+}
@@ -3,7 +3,7 @@ package com.InventoryFlow.InventoryFlow.controller;
 import com.InventoryFlow.InventoryFlow.dto.ApiResponse;
 import com.InventoryFlow.InventoryFlow.dto.RoleDTO;
 import com.InventoryFlow.InventoryFlow.entity.Role;
-import com.InventoryFlow.InventoryFlow.repository.RoleRepository;
+import com.InventoryFlow.InventoryFlow.service.ReferenceDataCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,11 +17,11 @@ import java.util.stream.Collectors;
 public class RoleController {
 
     @Autowired
-    private RoleRepository roleRepository;
+    private ReferenceDataCache referenceDataCache;
 
     @GetMapping
     public ResponseEntity<ApiResponse<List<RoleDTO>>> getAllRoles() {
-        List<RoleDTO> roles = roleRepository.findAll().stream()
+        List<RoleDTO> roles = referenceDataCache.findAllRoles().stream()
                 .map(role -> new RoleDTO(role.getId(), role.getName().name()))
                 .collect(Collectors.toList());
         return ResponseEntity.ok(ApiResponse.success(roles));
@@ -1,6 +1,7 @@
 package com.InventoryFlow.InventoryFlow.controller;
 
 import com.InventoryFlow.InventoryFlow.dto.ApiResponse;
+import com.InventoryFlow.InventoryFlow.dto.PageQuery;
 import com.InventoryFlow.InventoryFlow.dto.SalesOrderDTO;
 import com.InventoryFlow.InventoryFlow.service.SalesOrderService;
 import jakarta.validation.Valid;
@@ -29,9 +30,15 @@ public class SalesOrderController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<SalesOrderDTO>>> getAllSalesOrders() {
-        List<SalesOrderDTO> sos = soService.getAllSalesOrders();
-        return ResponseEntity.ok(ApiResponse.success(sos));
+    public ResponseEntity<ApiResponse<?>> getAllSalesOrders(PageQuery pageQuery) {
+        try {
+            if (!pageQuery.isPaged()) {
+                return ResponseEntity.ok(ApiResponse.success(soService.getAllSalesOrders()));
+            }
+            return ResponseEntity.ok(ApiResponse.success(soService.getSalesOrdersPage(pageQuery)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,30 @@
+package com.InventoryFlow.InventoryFlow.controller;
+
+import com.InventoryFlow.InventoryFlow.dto.ApiResponse;
+import com.InventoryFlow.InventoryFlow.dto.DocumentSearchHitDTO;
+import com.InventoryFlow.InventoryFlow.service.DocumentSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/search")
+@CrossOrigin(origins = "*")
+public class SearchController {
+
+    @Autowired
+    private DocumentSearchIndex documentSearchIndex;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<DocumentSearchHitDTO>>> searchDocuments(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(documentSearchIndex.search(q, limit)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -1,13 +1,21 @@
 package com.InventoryFlow.InventoryFlow.controller;
 
 import com.InventoryFlow.InventoryFlow.dto.ApiResponse;
+import com.InventoryFlow.InventoryFlow.dto.PageQuery;
 import com.InventoryFlow.InventoryFlow.dto.StockDTO;
+import com.InventoryFlow.InventoryFlow.dto.StockDriftDTO;
+import com.InventoryFlow.InventoryFlow.dto.StockMovementDTO;
+import com.InventoryFlow.InventoryFlow.dto.StockValuationDTO;
+import com.InventoryFlow.InventoryFlow.service.InventoryCostingService;
+import com.InventoryFlow.InventoryFlow.service.StockLedgerService;
 import com.InventoryFlow.InventoryFlow.service.StockService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -18,10 +26,22 @@ public class StockController {
     @Autowired
     private StockService stockService;
 
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private InventoryCostingService inventoryCostingService;
+
     @GetMapping
-    public ResponseEntity<ApiResponse<List<StockDTO>>> getAllStocks() {
-        List<StockDTO> stocks = stockService.getAllStocks();
-        return ResponseEntity.ok(ApiResponse.success(stocks));
+    public ResponseEntity<ApiResponse<?>> getAllStocks(PageQuery pageQuery) {
+        try {
+            if (!pageQuery.isPaged()) {
+                return ResponseEntity.ok(ApiResponse.success(stockService.getAllStocks()));
+            }
+            return ResponseEntity.ok(ApiResponse.success(stockService.getStocksPage(pageQuery)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
     }
 
     @GetMapping("/item/{itemId}")
@@ -34,6 +54,25 @@ public class StockController {
         }
     }
 
+    @GetMapping("/as-of")
+    public ResponseEntity<ApiResponse<List<StockDTO>>> getStockAsOf(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        List<StockDTO> stocks = stockLedgerService.getStockAsOf(date);
+        return ResponseEntity.ok(ApiResponse.success(stocks));
+    }
+
+    @GetMapping("/as-of/item/{itemId}")
+    public ResponseEntity<ApiResponse<StockDTO>> getStockAsOfByItemId(
+            @PathVariable Long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            StockDTO stock = stockLedgerService.getStockAsOfByItemId(itemId, date);
+            return ResponseEntity.ok(ApiResponse.success(stock));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @PostMapping("/adjust/{itemId}")
     public ResponseEntity<ApiResponse<StockDTO>> adjustStock(
             @PathVariable Long itemId,
@@ -48,6 +87,34 @@ public class StockController {
         }
     }
 
+    @GetMapping("/item/{itemId}/movements")
+    public ResponseEntity<ApiResponse<List<StockMovementDTO>>> getMovements(@PathVariable Long itemId) {
+        List<StockMovementDTO> movements = stockLedgerService.getMovementsByItemId(itemId);
+        return ResponseEntity.ok(ApiResponse.success(movements));
+    }
+
+    @GetMapping("/drift")
+    public ResponseEntity<ApiResponse<List<StockDriftDTO>>> getDrift() {
+        List<StockDriftDTO> drift = stockLedgerService.findDrift();
+        return ResponseEntity.ok(ApiResponse.success(drift));
+    }
+
+    @PostMapping("/item/{itemId}/rebuild")
+    public ResponseEntity<ApiResponse<Integer>> rebuildStock(@PathVariable Long itemId) {
+        try {
+            Integer quantity = stockLedgerService.rebuildStock(itemId);
+            return ResponseEntity.ok(ApiResponse.success("Stock rebuilt from ledger", quantity));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/valuation")
+    public ResponseEntity<ApiResponse<List<StockValuationDTO>>> getStockValuation() {
+        List<StockValuationDTO> valuation = inventoryCostingService.getValuation();
+        return ResponseEntity.ok(ApiResponse.success(valuation));
+    }
+
     @GetMapping("/total-value")
     public ResponseEntity<ApiResponse<BigDecimal>> getTotalStockValue() {
         BigDecimal value = stockService.getTotalStockValue();
@@ -0,0 +1,20 @@
+package com.InventoryFlow.InventoryFlow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDTO {
+    private String name;
+    private Integer size;
+    private Integer maxSize;
+    private Long ttlMs;
+    private Long hits;
+    private Long misses;
+    private Long evictions;
+    private Long expirations;
+    private Double hitRate;
+}
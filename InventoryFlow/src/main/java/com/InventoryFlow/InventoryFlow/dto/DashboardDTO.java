@@ -18,6 +18,7 @@ public class DashboardDTO {
     private List<LowStockItemDTO> lowStockItems;
     private List<MonthlySalesDTO> monthlySalesData;
     private List<POvsSODTO> poVsSoData;
+    private List<String> unavailableParts; // parts that failed or timed out and are left empty
 
     @Data
     @NoArgsConstructor
@@ -0,0 +1,20 @@
+package com.InventoryFlow.InventoryFlow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentSearchHitDTO {
+    private String type; // SALES_ORDER, PURCHASE_ORDER, GRN, GIN or INVOICE
+    private Long id;
+    private String number;
+    private LocalDate date;
+    private String counterparty;
+    private String reference; // source PO/SO number for GRN, GIN and invoice hits
+    private String status;
+}
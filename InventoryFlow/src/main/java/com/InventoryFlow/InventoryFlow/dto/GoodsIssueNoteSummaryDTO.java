@@ -0,0 +1,25 @@
+package com.InventoryFlow.InventoryFlow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// List row without lines; GET /{id} returns the full document
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoodsIssueNoteSummaryDTO {
+    private Long id;
+    private String ginNumber;
+    private Long salesOrderId;
+    private String soNumber;
+    private String customerName;
+    private LocalDate issueDate;
+    private String issuedByName;
+    private String status;
+    private Long lineCount;
+    private BigDecimal totalAmount;
+}
@@ -0,0 +1,24 @@
+package com.InventoryFlow.InventoryFlow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// List row without lines; GET /{id} returns the full document
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoodsReceiveNoteSummaryDTO {
+    private Long id;
+    private String grnNumber;
+    private Long purchaseOrderId;
+    private String poNumber;
+    private String supplierName;
+    private LocalDate receiveDate;
+    private String receivedByName;
+    private Long lineCount;
+    private BigDecimal totalAmount;
+}
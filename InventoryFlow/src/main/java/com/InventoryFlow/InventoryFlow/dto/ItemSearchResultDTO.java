@@ -0,0 +1,22 @@
+package com.InventoryFlow.InventoryFlow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemSearchResultDTO {
+    private Long id;
+    private String name;
+    private String sku;
+    private Long categoryId;
+    private String categoryName;
+    private String unit;
+    private BigDecimal costPrice;
+    private BigDecimal sellingPrice;
+    private Integer active;
+}
@@ -0,0 +1,17 @@
+package com.InventoryFlow.InventoryFlow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LowStockItemDTO {
+    private Long itemId;
+    private String name;
+    private String sku;
+    private String categoryName;
+    private Integer reorderLevel;
+    private Integer currentStock;
+}
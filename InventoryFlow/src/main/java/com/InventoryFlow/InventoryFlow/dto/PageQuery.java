@@ -0,0 +1,21 @@
+package com.InventoryFlow.InventoryFlow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// List endpoint parameters: ?limit=50&after=<nextCursor>&sort=orderDate,desc&filter=status:APPROVED,supplierId:3
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageQuery {
+    private Integer limit;
+    private String after;
+    private String sort;
+    private String filter;
+
+    // Without any paging parameter the endpoints keep returning the full list
+    public boolean isPaged() {
+        return limit != null || after != null || sort != null || filter != null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.InventoryFlow.InventoryFlow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// One cell of the profit cube; dimensions that were not grouped on are null
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfitCubeRowDTO {
+    private Long itemId;
+    private String itemName;
+    private String itemSku;
+    private String categoryName;
+    private String customerName;
+    private String month;
+    private Long quantity;
+    private BigDecimal revenue;
+    private BigDecimal cost;
+    private BigDecimal profit;
+    private BigDecimal marginPercent;
+}
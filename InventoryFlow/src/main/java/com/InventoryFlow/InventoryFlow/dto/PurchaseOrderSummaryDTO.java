@@ -0,0 +1,25 @@
+package com.InventoryFlow.InventoryFlow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// List row without lines; GET /{id} returns the full document
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurchaseOrderSummaryDTO {
+    private Long id;
+    private String poNumber;
+    private Long supplierId;
+    private String supplierName;
+    private LocalDate orderDate;
+    private LocalDate dueDate;
+    private String status;
+    private String createdByName;
+    private Long lineCount;
+    private BigDecimal totalAmount;
+}
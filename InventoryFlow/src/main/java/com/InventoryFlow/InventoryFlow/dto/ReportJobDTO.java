@@ -0,0 +1,26 @@
+package com.InventoryFlow.InventoryFlow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobDTO {
+    private String jobId;
+    private String reportType;
+    private String format;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String status;
+    private boolean cached;
+    private String fileName;
+    private Long sizeBytes;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,23 @@
+package com.InventoryFlow.InventoryFlow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// List row without lines; GET /{id} returns the full document
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesOrderSummaryDTO {
+    private Long id;
+    private String soNumber;
+    private String customerName;
+    private LocalDate orderDate;
+    private LocalDate deliveryDate;
+    private String status;
+    private BigDecimal totalAmount;
+    private Long lineCount;
+}
@@ -0,0 +1,14 @@
+package com.InventoryFlow.InventoryFlow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockDriftDTO {
+    private Long itemId;
+    private Integer stockQuantity;  // quantityOnHand in the stocks table
+    private Integer ledgerQuantity; // latest snapshot plus movements since
+}
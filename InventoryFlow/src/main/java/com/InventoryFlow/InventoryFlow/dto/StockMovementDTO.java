@@ -0,0 +1,19 @@
+package com.InventoryFlow.InventoryFlow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMovementDTO {
+    private Long id;
+    private Long itemId;
+    private String movementType;
+    private Integer quantity;
+    private String reference;
+    private LocalDateTime createdAt;
+}
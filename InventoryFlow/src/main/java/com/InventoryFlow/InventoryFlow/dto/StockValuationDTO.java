@@ -0,0 +1,20 @@
+package com.InventoryFlow.InventoryFlow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockValuationDTO {
+    private Long itemId;
+    private String itemName;
+    private String itemSku;
+    private Integer quantityOnHand;
+    private BigDecimal averageCost;
+    private BigDecimal averageValue;
+    private BigDecimal fifoValue;
+}
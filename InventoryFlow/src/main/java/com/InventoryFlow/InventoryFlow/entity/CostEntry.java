@@ -0,0 +1,49 @@
+package com.InventoryFlow.InventoryFlow.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "cost_entries", indexes = {
+        @Index(name = "idx_cost_entries_reference", columnList = "reference, item_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CostEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id", nullable = false, updatable = false)
+    private Item item;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private StockMovement.MovementType movementType; // GIN_ISSUE is cost of goods sold, ADJUSTMENT a write-off
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal fifoCost;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal averageCost;
+
+    private String reference;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
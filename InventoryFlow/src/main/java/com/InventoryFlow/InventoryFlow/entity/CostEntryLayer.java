@@ -0,0 +1,31 @@
+package com.InventoryFlow.InventoryFlow.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Quantity a GIN issue took from one cost layer, so a reversal can give it back to the same layer
+@Entity
+@Table(name = "cost_entry_layers", indexes = {
+        @Index(name = "idx_cost_entry_layers_entry", columnList = "cost_entry_id, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CostEntryLayer {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "cost_entry_id", nullable = false, updatable = false)
+    private CostEntry costEntry;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "cost_layer_id", nullable = false, updatable = false)
+    private CostLayer layer;
+
+    @Column(nullable = false)
+    private Integer quantity;
+}
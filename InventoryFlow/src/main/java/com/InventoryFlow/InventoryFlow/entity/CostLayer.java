@@ -0,0 +1,46 @@
+package com.InventoryFlow.InventoryFlow.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "cost_layers", indexes = {
+        @Index(name = "idx_cost_layers_item_open", columnList = "item_id, quantityRemaining, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CostLayer {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id", nullable = false, updatable = false)
+    private Item item;
+
+    @Column(nullable = false, updatable = false, precision = 19, scale = 6)
+    private BigDecimal unitCost;
+
+    @Column(nullable = false, updatable = false)
+    private Integer quantityReceived;
+
+    @Column(nullable = false)
+    private Integer quantityRemaining; // consumed oldest layer first
+
+    @Column(updatable = false)
+    private String reference; // GRN number, GIN number of a reversal, or adjustment reference
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
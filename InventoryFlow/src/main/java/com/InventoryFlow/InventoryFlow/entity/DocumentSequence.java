@@ -0,0 +1,29 @@
+package com.InventoryFlow.InventoryFlow.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "document_sequences",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"prefix", "sequence_date"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentSequence {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 10)
+    private String prefix; // e.g., "SO", "PO", "GRN", "GIN", "INV"
+
+    @Column(name = "sequence_date", nullable = false)
+    private LocalDate sequenceDate;
+
+    @Column(nullable = false)
+    private Long nextValue; // first value not yet handed out to any node
+}
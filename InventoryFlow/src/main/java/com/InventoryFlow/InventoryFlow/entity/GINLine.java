@@ -21,7 +21,7 @@ public class GINLine {
     @JoinColumn(name = "gin_id", nullable = false)
     private GoodsIssueNote gin;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id", nullable = false)
     private Item item;
 
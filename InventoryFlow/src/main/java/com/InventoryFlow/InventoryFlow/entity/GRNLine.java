@@ -21,7 +21,7 @@ public class GRNLine {
     @JoinColumn(name = "grn_id", nullable = false)
     private GoodsReceiveNote grn;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id", nullable = false)
     private Item item;
 
@@ -11,7 +11,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "goods_issue_notes")
+@NamedEntityGraph(name = "GoodsIssueNote.detail", attributeNodes = {
+        @NamedAttributeNode("salesOrder"),
+        @NamedAttributeNode("issuedBy"),
+        @NamedAttributeNode(value = "ginLines", subgraph = "lines")
+}, subgraphs = @NamedSubgraph(name = "lines", attributeNodes = @NamedAttributeNode("item")))
+@Table(name = "goods_issue_notes", indexes = {
+        @Index(name = "idx_gin_issue_date", columnList = "issueDate, id"),
+        @Index(name = "idx_gin_created", columnList = "createdAt, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,7 +31,7 @@ public class GoodsIssueNote {
     @Column(unique = true, nullable = false)
     private String ginNumber;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sales_order_id", nullable = false)
     private SalesOrder salesOrder;
 
@@ -32,7 +40,7 @@ public class GoodsIssueNote {
 
     private String remarks;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "issued_by", nullable = false)
     private User issuedBy;
 
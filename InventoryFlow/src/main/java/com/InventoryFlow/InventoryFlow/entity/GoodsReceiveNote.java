@@ -11,7 +11,18 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "goods_receive_notes")
+@NamedEntityGraph(name = "GoodsReceiveNote.detail", attributeNodes = {
+        @NamedAttributeNode(value = "purchaseOrder", subgraph = "purchaseOrder"),
+        @NamedAttributeNode("receivedBy"),
+        @NamedAttributeNode(value = "grnLines", subgraph = "lines")
+}, subgraphs = {
+        @NamedSubgraph(name = "purchaseOrder", attributeNodes = @NamedAttributeNode("supplier")),
+        @NamedSubgraph(name = "lines", attributeNodes = @NamedAttributeNode("item"))
+})
+@Table(name = "goods_receive_notes", indexes = {
+        @Index(name = "idx_grn_receive_date", columnList = "receiveDate, id"),
+        @Index(name = "idx_grn_created", columnList = "createdAt, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,7 +34,7 @@ public class GoodsReceiveNote {
     @Column(unique = true, nullable = false)
     private String grnNumber;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "purchase_order_id", nullable = false)
     private PurchaseOrder purchaseOrder;
 
@@ -32,7 +43,7 @@ public class GoodsReceiveNote {
 
     private String remarks;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "received_by", nullable = false)
     private User receivedBy;
 
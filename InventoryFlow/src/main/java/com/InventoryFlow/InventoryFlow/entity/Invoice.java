@@ -10,7 +10,15 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "invoices")
+@NamedEntityGraph(name = "Invoice.detail", attributeNodes = {
+        @NamedAttributeNode("salesOrder"),
+        @NamedAttributeNode("createdBy")
+})
+@Table(name = "invoices", indexes = {
+        @Index(name = "idx_invoices_date", columnList = "invoiceDate, id"),
+        @Index(name = "idx_invoices_due_date", columnList = "dueDate, id"),
+        @Index(name = "idx_invoices_total", columnList = "totalAmount, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -22,7 +30,7 @@ public class Invoice {
     @Column(unique = true, nullable = false)
     private String invoiceNumber;
 
-    @OneToOne(fetch = FetchType.EAGER)
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sales_order_id", nullable = false, unique = true)
     private SalesOrder salesOrder;
 
@@ -48,7 +56,7 @@ public class Invoice {
     @Column(nullable = false)
     private PaymentStatus paymentStatus = PaymentStatus.PENDING;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", nullable = false)
     private User createdBy;
 
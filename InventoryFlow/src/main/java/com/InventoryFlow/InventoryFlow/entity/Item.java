@@ -9,7 +9,11 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "items")
+@NamedEntityGraph(name = "Item.category", attributeNodes = @NamedAttributeNode("category"))
+@Table(name = "items", indexes = {
+        @Index(name = "idx_items_name", columnList = "name, id"),
+        @Index(name = "idx_items_created", columnList = "createdAt, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,7 +28,7 @@ public class Item {
     @Column(unique = true, nullable = false)
     private String sku;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
@@ -0,0 +1,41 @@
+package com.InventoryFlow.InventoryFlow.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "item_costs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemCost {
+    @Id
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @MapsId
+    @JoinColumn(name = "item_id")
+    private Item item;
+
+    @Column(nullable = false)
+    private Integer quantityOnHand = 0;
+
+    @Column(nullable = false, precision = 19, scale = 6)
+    private BigDecimal averageCost = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal fifoValue = BigDecimal.ZERO; // value of the open cost layers
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -11,7 +11,17 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "purchase_orders")
+@NamedEntityGraph(name = "PurchaseOrder.detail", attributeNodes = {
+        @NamedAttributeNode("supplier"),
+        @NamedAttributeNode("createdBy"),
+        @NamedAttributeNode("approvedBy"),
+        @NamedAttributeNode(value = "orderLines", subgraph = "lines")
+}, subgraphs = @NamedSubgraph(name = "lines", attributeNodes = @NamedAttributeNode("item")))
+@Table(name = "purchase_orders", indexes = {
+        @Index(name = "idx_purchase_orders_date", columnList = "orderDate, id"),
+        @Index(name = "idx_purchase_orders_created", columnList = "createdAt, id"),
+        @Index(name = "idx_purchase_orders_status", columnList = "status, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,7 +33,7 @@ public class PurchaseOrder {
     @Column(unique = true, nullable = false)
     private String poNumber;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "supplier_id", nullable = false)
     private Supplier supplier;
 
@@ -38,11 +48,11 @@ public class PurchaseOrder {
 
     private String remarks;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", nullable = false)
     private User createdBy;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "approved_by")
     private User approvedBy;
 
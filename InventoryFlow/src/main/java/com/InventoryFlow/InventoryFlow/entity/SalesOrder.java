@@ -12,7 +12,16 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "sales_orders")
+@NamedEntityGraph(name = "SalesOrder.detail", attributeNodes = {
+        @NamedAttributeNode("createdBy"),
+        @NamedAttributeNode(value = "orderLines", subgraph = "lines")
+}, subgraphs = @NamedSubgraph(name = "lines", attributeNodes = @NamedAttributeNode("item")))
+@Table(name = "sales_orders", indexes = {
+        @Index(name = "idx_sales_orders_date", columnList = "orderDate, id"),
+        @Index(name = "idx_sales_orders_created", columnList = "createdAt, id"),
+        @Index(name = "idx_sales_orders_status", columnList = "status, id"),
+        @Index(name = "idx_sales_orders_customer", columnList = "customerName, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -50,7 +59,7 @@ public class SalesOrder {
 
     private String remarks;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", nullable = false)
     private User createdBy;
 
@@ -9,7 +9,11 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "stocks")
+@NamedEntityGraph(name = "Stock.item", attributeNodes = @NamedAttributeNode(value = "item", subgraph = "item"),
+        subgraphs = @NamedSubgraph(name = "item", attributeNodes = @NamedAttributeNode("category")))
+@Table(name = "stocks", indexes = {
+        @Index(name = "idx_stocks_quantity", columnList = "quantityOnHand, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,13 +22,17 @@ public class Stock {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @OneToOne(fetch = FetchType.EAGER)
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id", nullable = false, unique = true)
     private Item item;
 
     @Column(nullable = false)
     private Integer quantityOnHand = 0;
 
+    // Bumped by every stock update, so copies of the row can tell which one is newer
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long revision = 0L;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -0,0 +1,49 @@
+package com.InventoryFlow.InventoryFlow.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "stock_movements", indexes = {
+        @Index(name = "idx_stock_movements_item", columnList = "item_id, id"),
+        @Index(name = "idx_stock_movements_created", columnList = "createdAt"),
+        @Index(name = "idx_stock_movements_item_created", columnList = "item_id, createdAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMovement {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id", nullable = false, updatable = false)
+    private Item item;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private MovementType movementType;
+
+    @Column(nullable = false, updatable = false)
+    private Integer quantity; // signed: positive into stock, negative out of stock
+
+    @Column(updatable = false)
+    private String reference; // GRN/GIN number or adjustment reference
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public enum MovementType {
+        OPENING_BALANCE, GRN_RECEIPT, GIN_ISSUE, GIN_REVERSAL, ADJUSTMENT
+    }
+}
@@ -0,0 +1,40 @@
+package com.InventoryFlow.InventoryFlow.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "stock_snapshots")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true, nullable = false)
+    private LocalDate snapshotDate; // balances at the end of this day
+
+    @Column(nullable = false)
+    private Long lastMovementId; // highest stock movement id included, 0 if none; informational, the boundary is the end of snapshotDate
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Only items with a non-zero balance get a line
+    @OneToMany(mappedBy = "snapshot", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<StockSnapshotLine> lines = new ArrayList<>();
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
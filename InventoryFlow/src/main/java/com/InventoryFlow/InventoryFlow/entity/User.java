@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
+@NamedEntityGraph(name = "User.role", attributeNodes = @NamedAttributeNode("role"))
 @Table(name = "users")
 @Data
 @NoArgsConstructor
@@ -32,7 +33,7 @@ public class User {
     @Column(columnDefinition = "bit default 1")
     private boolean active = true;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "role_id", nullable = false)
     private Role role;
 
@@ -0,0 +1,15 @@
+package com.InventoryFlow.InventoryFlow.repository;
+
+import com.InventoryFlow.InventoryFlow.entity.CostEntryLayer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CostEntryLayerRepository extends JpaRepository<CostEntryLayer, Long> {
+    // Last consumed layer first
+    @Query("SELECT c FROM CostEntryLayer c JOIN FETCH c.layer WHERE c.costEntry.id = :costEntryId ORDER BY c.id DESC")
+    List<CostEntryLayer> findByCostEntryId(Long costEntryId);
+}
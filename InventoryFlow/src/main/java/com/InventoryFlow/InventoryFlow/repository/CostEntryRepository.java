@@ -0,0 +1,36 @@
+package com.InventoryFlow.InventoryFlow.repository;
+
+import com.InventoryFlow.InventoryFlow.entity.CostEntry;
+import com.InventoryFlow.InventoryFlow.entity.StockMovement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface CostEntryRepository extends JpaRepository<CostEntry, Long> {
+    List<CostEntry> findByReferenceAndItemIdAndMovementTypeOrderByIdDesc(String reference, Long itemId,
+                                                                         StockMovement.MovementType movementType);
+
+    // Cost of the goods issued for INVOICED sales orders, matched to sales by order date
+    @Query("SELECT COALESCE(SUM(ce.fifoCost), 0) FROM CostEntry ce, GoodsIssueNote gin JOIN gin.salesOrder so " +
+           "WHERE ce.reference = gin.ginNumber AND ce.movementType = 'GIN_ISSUE' " +
+           "AND so.orderDate BETWEEN :startDate AND :endDate AND so.status = 'INVOICED'")
+    BigDecimal getFifoCostOfSalesBetween(LocalDate startDate, LocalDate endDate);
+
+    @Query("SELECT COALESCE(SUM(ce.averageCost), 0) FROM CostEntry ce, GoodsIssueNote gin JOIN gin.salesOrder so " +
+           "WHERE ce.reference = gin.ginNumber AND ce.movementType = 'GIN_ISSUE' " +
+           "AND so.orderDate BETWEEN :startDate AND :endDate AND so.status = 'INVOICED'")
+    BigDecimal getAverageCostOfSalesBetween(LocalDate startDate, LocalDate endDate);
+
+    // Issue cost per sales order and item: order id, item id, FIFO cost, average cost
+    @Query("SELECT so.id, ce.item.id, SUM(ce.fifoCost), SUM(ce.averageCost) " +
+           "FROM CostEntry ce, GoodsIssueNote gin JOIN gin.salesOrder so " +
+           "WHERE ce.reference = gin.ginNumber AND ce.movementType = 'GIN_ISSUE' " +
+           "AND so.orderDate BETWEEN :startDate AND :endDate AND so.status = 'INVOICED' " +
+           "GROUP BY so.id, ce.item.id")
+    List<Object[]> getCostOfSalesByOrderAndItem(LocalDate startDate, LocalDate endDate);
+}
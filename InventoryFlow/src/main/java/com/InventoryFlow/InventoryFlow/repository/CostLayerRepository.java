@@ -0,0 +1,15 @@
+package com.InventoryFlow.InventoryFlow.repository;
+
+import com.InventoryFlow.InventoryFlow.entity.CostLayer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CostLayerRepository extends JpaRepository<CostLayer, Long> {
+    // Oldest first; callers hold the item's ItemCost lock
+    @Query("SELECT l FROM CostLayer l WHERE l.item.id = :itemId AND l.quantityRemaining > 0 ORDER BY l.id")
+    List<CostLayer> findOpenLayers(Long itemId);
+}
@@ -0,0 +1,32 @@
+package com.InventoryFlow.InventoryFlow.repository;
+
+import com.InventoryFlow.InventoryFlow.entity.DocumentSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface DocumentSequenceRepository extends JpaRepository<DocumentSequence, Long> {
+    @Modifying
+    @Query("UPDATE DocumentSequence d SET d.nextValue = d.nextValue + :blockSize " +
+           "WHERE d.prefix = :prefix AND d.sequenceDate = :sequenceDate")
+    int reserveBlock(String prefix, LocalDate sequenceDate, Long blockSize);
+
+    @Query("SELECT d.nextValue FROM DocumentSequence d WHERE d.prefix = :prefix AND d.sequenceDate = :sequenceDate")
+    Optional<Long> findNextValue(String prefix, LocalDate sequenceDate);
+
+    // Highest sequence already used by a document number matching pattern, e.g. "SO-20261017-%", whose
+    // sequence starts at sequenceStart; covers numbers issued before the day had a sequence row
+    @Query(value = "SELECT MAX(CAST(SUBSTRING(n.doc_number, :sequenceStart, 20) AS BIGINT)) FROM (" +
+                   "SELECT so_number AS doc_number FROM sales_orders WHERE so_number LIKE :pattern " +
+                   "UNION ALL SELECT po_number FROM purchase_orders WHERE po_number LIKE :pattern " +
+                   "UNION ALL SELECT grn_number FROM goods_receive_notes WHERE grn_number LIKE :pattern " +
+                   "UNION ALL SELECT gin_number FROM goods_issue_notes WHERE gin_number LIKE :pattern " +
+                   "UNION ALL SELECT invoice_number FROM invoices WHERE invoice_number LIKE :pattern) n",
+           nativeQuery = true)
+    Long findHighestIssuedNumber(String pattern, int sequenceStart);
+}
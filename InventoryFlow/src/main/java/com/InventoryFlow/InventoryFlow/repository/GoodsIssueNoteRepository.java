@@ -1,15 +1,46 @@
 package com.InventoryFlow.InventoryFlow.repository;
 
+import com.InventoryFlow.InventoryFlow.dto.GoodsIssueNoteSummaryDTO;
 import com.InventoryFlow.InventoryFlow.entity.GoodsIssueNote;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface GoodsIssueNoteRepository extends JpaRepository<GoodsIssueNote, Long> {
+public interface GoodsIssueNoteRepository extends JpaRepository<GoodsIssueNote, Long>, JpaSpecificationExecutor<GoodsIssueNote> {
+    // Detail reads load the graph in one query; everything else stays lazy
+    @Override
+    @EntityGraph("GoodsIssueNote.detail")
+    Optional<GoodsIssueNote> findById(Long id);
+
     Optional<GoodsIssueNote> findByGinNumber(String ginNumber);
     boolean existsByGinNumber(String ginNumber);
-}
 
+    // List rows with line count and total in one grouped query; lines are never loaded
+    @Query("SELECT new com.InventoryFlow.InventoryFlow.dto.GoodsIssueNoteSummaryDTO(gin.id, gin.ginNumber, " +
+           "so.id, so.soNumber, so.customerName, gin.issueDate, u.fullName, CAST(gin.status AS String), " +
+           "COUNT(l), COALESCE(SUM(l.totalPrice), 0)) " +
+           "FROM GoodsIssueNote gin JOIN gin.salesOrder so JOIN gin.issuedBy u " +
+           "LEFT JOIN gin.ginLines l " +
+           "GROUP BY gin.id, gin.ginNumber, so.id, so.soNumber, so.customerName, gin.issueDate, u.fullName, gin.status ORDER BY gin.id DESC")
+    List<GoodsIssueNoteSummaryDTO> findAllSummaries();
 
+    @Query("SELECT new com.InventoryFlow.InventoryFlow.dto.GoodsIssueNoteSummaryDTO(gin.id, gin.ginNumber, " +
+           "so.id, so.soNumber, so.customerName, gin.issueDate, u.fullName, CAST(gin.status AS String), " +
+           "COUNT(l), COALESCE(SUM(l.totalPrice), 0)) " +
+           "FROM GoodsIssueNote gin JOIN gin.salesOrder so JOIN gin.issuedBy u " +
+           "LEFT JOIN gin.ginLines l WHERE gin.id IN :ids " +
+           "GROUP BY gin.id, gin.ginNumber, so.id, so.soNumber, so.customerName, gin.issueDate, u.fullName, gin.status")
+    List<GoodsIssueNoteSummaryDTO> findSummariesByIdIn(Collection<Long> ids);
+
+    // Headers for the document search index; lines stay unloaded
+    @EntityGraph(attributePaths = {"salesOrder"})
+    @Query("SELECT gin FROM GoodsIssueNote gin")
+    List<GoodsIssueNote> findAllForSearch();
+}
@@ -1,15 +1,46 @@
 package com.InventoryFlow.InventoryFlow.repository;
 
+import com.InventoryFlow.InventoryFlow.dto.GoodsReceiveNoteSummaryDTO;
 import com.InventoryFlow.InventoryFlow.entity.GoodsReceiveNote;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface GoodsReceiveNoteRepository extends JpaRepository<GoodsReceiveNote, Long> {
+public interface GoodsReceiveNoteRepository extends JpaRepository<GoodsReceiveNote, Long>, JpaSpecificationExecutor<GoodsReceiveNote> {
+    // Detail reads load the graph in one query; everything else stays lazy
+    @Override
+    @EntityGraph("GoodsReceiveNote.detail")
+    Optional<GoodsReceiveNote> findById(Long id);
+
     Optional<GoodsReceiveNote> findByGrnNumber(String grnNumber);
     boolean existsByGrnNumber(String grnNumber);
-}
 
+    // List rows with line count and total in one grouped query; lines are never loaded
+    @Query("SELECT new com.InventoryFlow.InventoryFlow.dto.GoodsReceiveNoteSummaryDTO(grn.id, grn.grnNumber, " +
+           "po.id, po.poNumber, s.name, grn.receiveDate, u.fullName, " +
+           "COUNT(l), COALESCE(SUM(l.totalPrice), 0)) " +
+           "FROM GoodsReceiveNote grn JOIN grn.purchaseOrder po JOIN po.supplier s JOIN grn.receivedBy u " +
+           "LEFT JOIN grn.grnLines l " +
+           "GROUP BY grn.id, grn.grnNumber, po.id, po.poNumber, s.name, grn.receiveDate, u.fullName ORDER BY grn.id DESC")
+    List<GoodsReceiveNoteSummaryDTO> findAllSummaries();
 
+    @Query("SELECT new com.InventoryFlow.InventoryFlow.dto.GoodsReceiveNoteSummaryDTO(grn.id, grn.grnNumber, " +
+           "po.id, po.poNumber, s.name, grn.receiveDate, u.fullName, " +
+           "COUNT(l), COALESCE(SUM(l.totalPrice), 0)) " +
+           "FROM GoodsReceiveNote grn JOIN grn.purchaseOrder po JOIN po.supplier s JOIN grn.receivedBy u " +
+           "LEFT JOIN grn.grnLines l WHERE grn.id IN :ids " +
+           "GROUP BY grn.id, grn.grnNumber, po.id, po.poNumber, s.name, grn.receiveDate, u.fullName")
+    List<GoodsReceiveNoteSummaryDTO> findSummariesByIdIn(Collection<Long> ids);
+
+    // Headers for the document search index; lines stay unloaded
+    @EntityGraph(attributePaths = {"purchaseOrder", "purchaseOrder.supplier"})
+    @Query("SELECT grn FROM GoodsReceiveNote grn")
+    List<GoodsReceiveNote> findAllForSearch();
+}
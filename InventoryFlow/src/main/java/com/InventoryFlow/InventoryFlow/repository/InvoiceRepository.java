@@ -1,13 +1,24 @@
 package com.InventoryFlow.InventoryFlow.repository;
 
 import com.InventoryFlow.InventoryFlow.entity.Invoice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
+public interface InvoiceRepository extends JpaRepository<Invoice, Long>, JpaSpecificationExecutor<Invoice> {
+    @Override
+    @EntityGraph("Invoice.detail")
+    List<Invoice> findAll();
+
+    @Override
+    @EntityGraph("Invoice.detail")
+    Optional<Invoice> findById(Long id);
+
     Optional<Invoice> findByInvoiceNumber(String invoiceNumber);
     boolean existsByInvoiceNumber(String invoiceNumber);
     Optional<Invoice> findBySalesOrderId(Long salesOrderId);
@@ -0,0 +1,37 @@
+package com.InventoryFlow.InventoryFlow.repository;
+
+import com.InventoryFlow.InventoryFlow.dto.StockValuationDTO;
+import com.InventoryFlow.InventoryFlow.entity.ItemCost;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ItemCostRepository extends JpaRepository<ItemCost, Long> {
+    // Serializes cost updates per item
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT ic FROM ItemCost ic WHERE ic.id = :itemId")
+    Optional<ItemCost> findForUpdate(Long itemId);
+
+    @Query("SELECT COALESCE(SUM(ic.fifoValue), 0) FROM ItemCost ic")
+    BigDecimal getTotalFifoValue();
+
+    @Query("SELECT COALESCE(SUM(ic.quantityOnHand * ic.averageCost), 0) FROM ItemCost ic")
+    BigDecimal getTotalAverageValue();
+
+    @Query("SELECT new com.InventoryFlow.InventoryFlow.dto.StockValuationDTO(i.id, i.name, i.sku, ic.quantityOnHand, " +
+           "ic.averageCost, ic.quantityOnHand * ic.averageCost, ic.fifoValue) " +
+           "FROM ItemCost ic JOIN ic.item i ORDER BY i.name, i.id")
+    List<StockValuationDTO> findValuation();
+
+    // Items holding stock from before cost tracking: item id, quantity, item cost price
+    @Query("SELECT i.id, s.quantityOnHand, i.costPrice FROM Stock s JOIN s.item i " +
+           "WHERE NOT EXISTS (SELECT ic.id FROM ItemCost ic WHERE ic.id = i.id)")
+    List<Object[]> findUncostedStock();
+}
@@ -1,7 +1,11 @@
 package com.InventoryFlow.InventoryFlow.repository;
 
+import com.InventoryFlow.InventoryFlow.dto.LowStockItemDTO;
 import com.InventoryFlow.InventoryFlow.entity.Item;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -9,14 +13,38 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, JpaSpecificationExecutor<Item> {
+    @Override
+    @EntityGraph("Item.category")
+    List<Item> findAll();
+
+    @Override
+    @EntityGraph("Item.category")
+    Optional<Item> findById(Long id);
+
+    @Override
+    @EntityGraph("Item.category")
+    List<Item> findAllById(Iterable<Long> ids);
+
     Optional<Item> findBySku(String sku);
     boolean existsBySku(String sku);
+    @EntityGraph("Item.category")
     List<Item> findByActive(Integer active);
     List<Item> findByCategoryId(Long categoryId);
     
+    @Query("SELECT i FROM Item i JOIN FETCH i.category")
+    List<Item> findAllWithCategory();
+
+    @EntityGraph("Item.category")
     @Query("SELECT i FROM Item i JOIN Stock s ON i.id = s.item.id WHERE s.quantityOnHand <= i.reorderLevel AND i.active = 1")
     List<Item> findLowStockItems();
+
+    // Most severe first: shortfall relative to the reorder level
+    @Query("SELECT new com.InventoryFlow.InventoryFlow.dto.LowStockItemDTO(i.id, i.name, i.sku, c.name, i.reorderLevel, s.quantityOnHand) " +
+           "FROM Stock s JOIN s.item i JOIN i.category c " +
+           "WHERE s.quantityOnHand <= i.reorderLevel AND i.active = 1 " +
+           "ORDER BY (i.reorderLevel - s.quantityOnHand) * 1.0 / CASE WHEN i.reorderLevel > 0 THEN i.reorderLevel ELSE 1 END DESC, i.name")
+    List<LowStockItemDTO> findLowStockSummaries(Pageable pageable);
 }
 
 
@@ -1,16 +1,30 @@
 package com.InventoryFlow.InventoryFlow.repository;
 
+import com.InventoryFlow.InventoryFlow.dto.PurchaseReportDTO;
+import com.InventoryFlow.InventoryFlow.dto.PurchaseOrderSummaryDTO;
 import com.InventoryFlow.InventoryFlow.entity.PurchaseOrder;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Long> {
+public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Long>, JpaSpecificationExecutor<PurchaseOrder> {
+    // Detail reads load the graph in one query; everything else stays lazy
+    @Override
+    @EntityGraph("PurchaseOrder.detail")
+    Optional<PurchaseOrder> findById(Long id);
+
     Optional<PurchaseOrder> findByPoNumber(String poNumber);
     boolean existsByPoNumber(String poNumber);
     List<PurchaseOrder> findBySupplierId(Long supplierId);
@@ -18,6 +32,39 @@ public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Lo
     
     @Query("SELECT po FROM PurchaseOrder po WHERE po.orderDate BETWEEN :startDate AND :endDate")
     List<PurchaseOrder> findByOrderDateBetween(LocalDate startDate, LocalDate endDate);
-}
 
+    // Cursor over report rows; must be consumed inside a (read-only) transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.InventoryFlow.InventoryFlow.dto.PurchaseReportDTO(po.poNumber, s.name, po.orderDate, " +
+           "CAST(po.status AS String)) FROM PurchaseOrder po JOIN po.supplier s " +
+           "WHERE po.orderDate BETWEEN :startDate AND :endDate ORDER BY po.orderDate, po.id")
+    Stream<PurchaseReportDTO> streamPurchaseReport(LocalDate startDate, LocalDate endDate);
+
+    // One row per month: year, month, line total of APPROVED purchase orders
+    @Query("SELECT YEAR(po.orderDate), MONTH(po.orderDate), SUM(l.totalPrice) FROM PurchaseOrderLine l " +
+           "JOIN l.purchaseOrder po WHERE po.orderDate BETWEEN :startDate AND :endDate AND po.status = 'APPROVED' " +
+           "GROUP BY YEAR(po.orderDate), MONTH(po.orderDate)")
+    List<Object[]> getMonthlyPurchasesBetween(LocalDate startDate, LocalDate endDate);
 
+    // List rows with line count and total in one grouped query; lines are never loaded
+    @Query("SELECT new com.InventoryFlow.InventoryFlow.dto.PurchaseOrderSummaryDTO(po.id, po.poNumber, " +
+           "s.id, s.name, po.orderDate, po.dueDate, CAST(po.status AS String), u.fullName, " +
+           "COUNT(l), COALESCE(SUM(l.totalPrice), 0)) " +
+           "FROM PurchaseOrder po JOIN po.supplier s JOIN po.createdBy u " +
+           "LEFT JOIN po.orderLines l " +
+           "GROUP BY po.id, po.poNumber, s.id, s.name, po.orderDate, po.dueDate, po.status, u.fullName ORDER BY po.id DESC")
+    List<PurchaseOrderSummaryDTO> findAllSummaries();
+
+    @Query("SELECT new com.InventoryFlow.InventoryFlow.dto.PurchaseOrderSummaryDTO(po.id, po.poNumber, " +
+           "s.id, s.name, po.orderDate, po.dueDate, CAST(po.status AS String), u.fullName, " +
+           "COUNT(l), COALESCE(SUM(l.totalPrice), 0)) " +
+           "FROM PurchaseOrder po JOIN po.supplier s JOIN po.createdBy u " +
+           "LEFT JOIN po.orderLines l WHERE po.id IN :ids " +
+           "GROUP BY po.id, po.poNumber, s.id, s.name, po.orderDate, po.dueDate, po.status, u.fullName")
+    List<PurchaseOrderSummaryDTO> findSummariesByIdIn(Collection<Long> ids);
+
+    // Headers for the document search index; lines stay unloaded
+    @EntityGraph(attributePaths = {"supplier"})
+    @Query("SELECT po FROM PurchaseOrder po")
+    List<PurchaseOrder> findAllForSearch();
+}
@@ -0,0 +1,24 @@
+package com.InventoryFlow.InventoryFlow.repository;
+
+import com.InventoryFlow.InventoryFlow.entity.SalesOrderLine;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+@Repository
+public interface SalesOrderLineRepository extends JpaRepository<SalesOrderLine, Long> {
+    // Lines of INVOICED orders: order id, item id, item name, sku, category, customer, order date, quantity,
+    // line total, order total
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT so.id, i.id, i.name, i.sku, c.name, so.customerName, so.orderDate, l.quantity, l.totalPrice, " +
+           "so.totalAmount " +
+           "FROM SalesOrderLine l JOIN l.salesOrder so JOIN l.item i JOIN i.category c " +
+           "WHERE so.orderDate BETWEEN :startDate AND :endDate AND so.status = 'INVOICED'")
+    Stream<Object[]> streamInvoicedLines(LocalDate startDate, LocalDate endDate);
+}
@@ -1,16 +1,30 @@
 package com.InventoryFlow.InventoryFlow.repository;
 
+import com.InventoryFlow.InventoryFlow.dto.SalesReportDTO;
+import com.InventoryFlow.InventoryFlow.dto.SalesOrderSummaryDTO;
 import com.InventoryFlow.InventoryFlow.entity.SalesOrder;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface SalesOrderRepository extends JpaRepository<SalesOrder, Long> {
+public interface SalesOrderRepository extends JpaRepository<SalesOrder, Long>, JpaSpecificationExecutor<SalesOrder> {
+    // Detail reads load the graph in one query; everything else stays lazy
+    @Override
+    @EntityGraph("SalesOrder.detail")
+    Optional<SalesOrder> findById(Long id);
+
     Optional<SalesOrder> findBySoNumber(String soNumber);
     boolean existsBySoNumber(String soNumber);
     List<SalesOrder> findByStatus(SalesOrder.SOStatus status);
@@ -20,6 +34,31 @@ public interface SalesOrderRepository extends JpaRepository<SalesOrder, Long> {
     
     @Query("SELECT SUM(so.totalAmount) FROM SalesOrder so WHERE so.orderDate BETWEEN :startDate AND :endDate AND so.status = 'INVOICED'")
     java.math.BigDecimal getTotalSalesBetween(LocalDate startDate, LocalDate endDate);
-}
 
+    // Cursor over report rows; must be consumed inside a (read-only) transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.InventoryFlow.InventoryFlow.dto.SalesReportDTO(so.soNumber, so.customerName, so.orderDate, " +
+           "so.totalAmount, CAST(so.status AS String)) FROM SalesOrder so " +
+           "WHERE so.orderDate BETWEEN :startDate AND :endDate ORDER BY so.orderDate, so.id")
+    Stream<SalesReportDTO> streamSalesReport(LocalDate startDate, LocalDate endDate);
+
+    // One row per month: year, month, total of INVOICED orders
+    @Query("SELECT YEAR(so.orderDate), MONTH(so.orderDate), SUM(so.totalAmount) FROM SalesOrder so " +
+           "WHERE so.orderDate BETWEEN :startDate AND :endDate AND so.status = 'INVOICED' " +
+           "GROUP BY YEAR(so.orderDate), MONTH(so.orderDate)")
+    List<Object[]> getMonthlySalesBetween(LocalDate startDate, LocalDate endDate);
 
+    // List rows with line count in one grouped query; lines are never loaded
+    @Query("SELECT new com.InventoryFlow.InventoryFlow.dto.SalesOrderSummaryDTO(so.id, so.soNumber, so.customerName, " +
+           "so.orderDate, so.deliveryDate, CAST(so.status AS String), so.totalAmount, COUNT(l)) " +
+           "FROM SalesOrder so LEFT JOIN so.orderLines l " +
+           "GROUP BY so.id, so.soNumber, so.customerName, so.orderDate, so.deliveryDate, so.status, so.totalAmount " +
+           "ORDER BY so.id DESC")
+    List<SalesOrderSummaryDTO> findAllSummaries();
+
+    @Query("SELECT new com.InventoryFlow.InventoryFlow.dto.SalesOrderSummaryDTO(so.id, so.soNumber, so.customerName, " +
+           "so.orderDate, so.deliveryDate, CAST(so.status AS String), so.totalAmount, COUNT(l)) " +
+           "FROM SalesOrder so LEFT JOIN so.orderLines l WHERE so.id IN :ids " +
+           "GROUP BY so.id, so.soNumber, so.customerName, so.orderDate, so.deliveryDate, so.status, so.totalAmount")
+    List<SalesOrderSummaryDTO> findSummariesByIdIn(Collection<Long> ids);
+}
@@ -0,0 +1,34 @@
+package com.InventoryFlow.InventoryFlow.repository;
+
+import com.InventoryFlow.InventoryFlow.entity.StockMovement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+    List<StockMovement> findByItemIdOrderByIdAsc(Long itemId);
+
+    Optional<StockMovement> findFirstByOrderByIdAsc();
+
+    @Query("SELECT MAX(m.id) FROM StockMovement m WHERE m.createdAt < :before")
+    Long findMaxIdCreatedBefore(LocalDateTime before);
+
+    @Query("SELECT m.item.id, SUM(m.quantity) FROM StockMovement m " +
+           "WHERE m.createdAt >= :from AND m.createdAt < :before GROUP BY m.item.id")
+    List<Object[]> sumQuantityByItemCreatedBetween(LocalDateTime from, LocalDateTime before);
+
+    @Query("SELECT m.item.id, SUM(m.quantity) FROM StockMovement m WHERE m.createdAt >= :from GROUP BY m.item.id")
+    List<Object[]> sumQuantityByItemCreatedFrom(LocalDateTime from);
+
+    @Query("SELECT COALESCE(SUM(m.quantity), 0) FROM StockMovement m WHERE m.item.id = :itemId AND m.createdAt >= :from")
+    Long sumQuantityForItemCreatedFrom(Long itemId, LocalDateTime from);
+
+    @Query("SELECT COALESCE(SUM(m.quantity), 0) FROM StockMovement m " +
+           "WHERE m.item.id = :itemId AND m.createdAt >= :from AND m.createdAt < :before")
+    Long sumQuantityForItemCreatedBetween(Long itemId, LocalDateTime from, LocalDateTime before);
+}
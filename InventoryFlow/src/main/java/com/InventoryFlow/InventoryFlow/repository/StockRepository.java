@@ -1,19 +1,75 @@
 package com.InventoryFlow.InventoryFlow.repository;
 
+import com.InventoryFlow.InventoryFlow.dto.StockDTO;
 import com.InventoryFlow.InventoryFlow.entity.Stock;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface StockRepository extends JpaRepository<Stock, Long> {
+public interface StockRepository extends JpaRepository<Stock, Long>, JpaSpecificationExecutor<Stock> {
+    @Override
+    @EntityGraph("Stock.item")
+    List<Stock> findAll();
+
+    @EntityGraph("Stock.item")
     Optional<Stock> findByItemId(Long itemId);
-    
-    @Query("SELECT SUM(s.quantityOnHand * i.costPrice) FROM Stock s JOIN s.item i")
-    BigDecimal getTotalStockValue();
-}
 
+    // Holds the row until commit so no stock move can land between reading the ledger and resetting the balance
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Stock s WHERE s.item.id = :itemId")
+    Optional<Stock> findByItemIdForUpdate(Long itemId);
+
+    // Cursor over report rows; must be consumed inside a (read-only) transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.InventoryFlow.InventoryFlow.dto.StockDTO(s.id, i.id, i.name, i.sku, c.name, s.quantityOnHand, " +
+           "i.costPrice, i.costPrice * s.quantityOnHand) FROM Stock s JOIN s.item i JOIN i.category c ORDER BY i.name, i.id")
+    Stream<StockDTO> streamStockReport();
+
+    @Query("SELECT s.item.id, s.quantityOnHand FROM Stock s WHERE s.item.id IN :itemIds")
+    List<Object[]> findQuantitiesByItemIds(Collection<Long> itemIds);
+
+    @Query("SELECT s.item.id, s.quantityOnHand FROM Stock s")
+    List<Object[]> findAllQuantities();
+
+    @Query("SELECT i.id, i.name, i.sku, c.name, i.reorderLevel, i.active, s.quantityOnHand, s.revision " +
+           "FROM Stock s JOIN s.item i JOIN i.category c")
+    List<Object[]> findAllStockLevels();
 
+    @Query("SELECT s.quantityOnHand, s.revision FROM Stock s WHERE s.item.id = :itemId")
+    List<Object[]> findQuantityAndRevision(Long itemId);
+
+    // Atomic stock moves: one UPDATE per line, callers check the returned row count
+    @Modifying
+    @Query("UPDATE Stock s SET s.quantityOnHand = s.quantityOnHand + :quantity, s.revision = s.revision + 1, " +
+           "s.updatedAt = CURRENT_TIMESTAMP WHERE s.item.id = :itemId")
+    int incrementQuantity(Long itemId, Integer quantity);
+
+    @Modifying
+    @Query("UPDATE Stock s SET s.quantityOnHand = s.quantityOnHand - :quantity, s.revision = s.revision + 1, " +
+           "s.updatedAt = CURRENT_TIMESTAMP WHERE s.item.id = :itemId AND s.quantityOnHand >= :quantity")
+    int decrementQuantity(Long itemId, Integer quantity);
+
+    @Modifying
+    @Query("UPDATE Stock s SET s.quantityOnHand = :newQuantity, s.revision = s.revision + 1, " +
+           "s.updatedAt = CURRENT_TIMESTAMP WHERE s.item.id = :itemId AND s.quantityOnHand = :expectedQuantity")
+    int compareAndSetQuantity(Long itemId, Integer expectedQuantity, Integer newQuantity);
+
+    @Modifying
+    @Query("UPDATE Stock s SET s.quantityOnHand = :quantity, s.revision = s.revision + 1, " +
+           "s.updatedAt = CURRENT_TIMESTAMP WHERE s.item.id = :itemId")
+    int setQuantity(Long itemId, Integer quantity);
+}
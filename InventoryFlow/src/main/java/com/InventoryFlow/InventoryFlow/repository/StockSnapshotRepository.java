@@ -0,0 +1,25 @@
+package com.InventoryFlow.InventoryFlow.repository;
+
+import com.InventoryFlow.InventoryFlow.entity.StockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+    boolean existsBySnapshotDate(LocalDate snapshotDate);
+
+    Optional<StockSnapshot> findFirstBySnapshotDateLessThanEqualOrderBySnapshotDateDesc(LocalDate date);
+
+    Optional<StockSnapshot> findFirstByOrderBySnapshotDateDesc();
+
+    @Query("SELECT l.item.id, l.quantityOnHand FROM StockSnapshotLine l WHERE l.snapshot.id = :snapshotId")
+    List<Object[]> findQuantitiesBySnapshotId(Long snapshotId);
+
+    @Query("SELECT l.quantityOnHand FROM StockSnapshotLine l WHERE l.snapshot.id = :snapshotId AND l.item.id = :itemId")
+    Optional<Integer> findQuantity(Long snapshotId, Long itemId);
+}
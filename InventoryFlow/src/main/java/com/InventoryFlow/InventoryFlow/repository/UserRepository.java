@@ -1,13 +1,25 @@
 package com.InventoryFlow.InventoryFlow.repository;
 
 import com.InventoryFlow.InventoryFlow.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    @Override
+    @EntityGraph("User.role")
+    List<User> findAll();
+
+    @Override
+    @EntityGraph("User.role")
+    Optional<User> findById(Long id);
+
+    // Also read by the security filter, outside any transaction
+    @EntityGraph("User.role")
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
@@ -0,0 +1,67 @@
+package com.InventoryFlow.InventoryFlow.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings: {@code mightContain} has no false
+ * negatives, so a miss proves absence without touching the exact set. Adds
+ * are safe against concurrent reads; entries cannot be removed, so the
+ * owner rebuilds the filter when entries expire or capacity is exceeded.
+ */
+class BloomFilter {
+
+    private static final int HASHES = 7;
+
+    private final AtomicLongArray bits;
+    private final int bitCount;
+    private final int capacity;
+
+    // About ten bits per entry keeps false positives near 1% at capacity
+    BloomFilter(int capacity) {
+        this.capacity = Math.max(capacity, 64);
+        this.bitCount = this.capacity * 10;
+        this.bits = new AtomicLongArray((bitCount + 63) / 64);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    void add(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            long mask = 1L << (bit & 63);
+            bits.getAndUpdate(bit >>> 6, word -> word | mask);
+        }
+    }
+
+    boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get(bit >>> 6) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 64-bit FNV-1a with a murmur finaliser; the two halves drive double hashing
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
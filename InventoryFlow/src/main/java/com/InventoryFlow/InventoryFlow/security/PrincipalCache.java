@@ -0,0 +1,45 @@
+package com.InventoryFlow.InventoryFlow.security;
+
+import com.InventoryFlow.InventoryFlow.dto.CacheStatsDTO;
+import com.InventoryFlow.InventoryFlow.service.ReferenceCache;
+import com.InventoryFlow.InventoryFlow.util.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of authenticated principals keyed by username and token
+ * issue time, so a token that is reused across requests loads its user once.
+ * Entries are dropped when the user is changed and expire after a short TTL,
+ * which bounds how long a change made outside {@code UserService} goes unseen.
+ */
+@Component
+public class PrincipalCache {
+
+    private record Key(String username, long issuedAt) {
+    }
+
+    private final ReferenceCache<Key, UserDetails> principals;
+
+    public PrincipalCache(@Value("${inventoryflow.auth.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${inventoryflow.auth.principal-cache.ttl-ms:60000}") long ttlMillis) {
+        principals = new ReferenceCache<>("principals", maxSize, ttlMillis);
+    }
+
+    public UserDetails get(String username, Date issuedAt, Supplier<UserDetails> loader) {
+        Key key = new Key(username, issuedAt != null ? issuedAt.getTime() : 0L);
+        return principals.get(key, k -> Optional.of(loader.get())).orElseThrow();
+    }
+
+    public void userChanged(String username) {
+        AfterCommit.runNowAndAfterCommit(() -> principals.invalidateIf(key -> key.username().equals(username)));
+    }
+
+    public CacheStatsDTO getStats() {
+        return principals.stats();
+    }
+}
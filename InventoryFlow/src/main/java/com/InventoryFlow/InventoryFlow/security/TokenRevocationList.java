@@ -0,0 +1,152 @@
+package com.InventoryFlow.InventoryFlow.security;
+
+import com.InventoryFlow.InventoryFlow.entity.TokenRevocation;
+import com.InventoryFlow.InventoryFlow.repository.TokenRevocationRepository;
+import com.InventoryFlow.InventoryFlow.util.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked tokens and users, mirrored from the token_revocations table so that
+ * every node rejects them without a per-request query. A Bloom filter answers
+ * the common "not revoked" case; hits are confirmed against the exact sets.
+ * New rows are pulled every few seconds and expired rows are purged hourly.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    // Rows are re-read for a while after they were written, so a slow commit or skewed clock is not missed
+    private static final long SYNC_OVERLAP_MINUTES = 1;
+
+    @Autowired
+    private TokenRevocationRepository revocationRepository;
+
+    @Value("${spring.security.jwt.expiration}")
+    private Long expiration;
+
+    private volatile State state = new State(0);
+    private LocalDateTime lastSync;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${inventoryflow.auth.revocation.purge-interval-ms:3600000}",
+               initialDelayString = "${inventoryflow.auth.revocation.purge-interval-ms:3600000}")
+    @Transactional
+    public synchronized void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = revocationRepository.deleteExpired(now);
+        List<TokenRevocation> rows = revocationRepository.findAll();
+        State rebuilt = new State(rows.size() * 2);
+        rows.forEach(rebuilt::add);
+        state = rebuilt;
+        lastSync = now;
+        log.info("Token revocation list rebuilt: {} revocations, {} expired purged", rows.size(), purged);
+    }
+
+    @Scheduled(fixedDelayString = "${inventoryflow.auth.revocation.sync-interval-ms:5000}",
+               initialDelayString = "${inventoryflow.auth.revocation.sync-interval-ms:5000}")
+    public synchronized void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = (lastSync != null ? lastSync : now).minusMinutes(SYNC_OVERLAP_MINUTES);
+        revocationRepository.findByRevokedAtAfter(since).forEach(this::apply);
+        lastSync = now;
+    }
+
+    // Token issue times have second precision, so a token issued in the same second as the revocation is rejected too
+    public boolean isRevoked(String tokenId, Long userId, Date issuedAt) {
+        State current = state;
+        if (tokenId != null && current.filter.mightContain(tokenKey(tokenId))
+                && current.tokens.contains(tokenId)) {
+            return true;
+        }
+        if (userId != null && issuedAt != null && current.filter.mightContain(userKey(userId))) {
+            Long revokedAt = current.users.get(userId);
+            return revokedAt != null && issuedAt.getTime() <= revokedAt;
+        }
+        return false;
+    }
+
+    public void revokeToken(String tokenId, Date expiresAt) {
+        LocalDateTime now = LocalDateTime.now();
+        TokenRevocation revocation = revocationRepository.save(new TokenRevocation(null, tokenId, null, now,
+                LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault())));
+        AfterCommit.run(() -> apply(revocation));
+    }
+
+    // Every token the user holds now stops working; the user has to log in again
+    public void revokeUser(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        TokenRevocation revocation = revocationRepository.save(new TokenRevocation(null, null, userId, now,
+                now.plusNanos(expiration * 1_000_000)));
+        AfterCommit.run(() -> apply(revocation));
+    }
+
+    private synchronized void apply(TokenRevocation revocation) {
+        if (state.size() >= state.filter.capacity()) {
+            State grown = new State(state.size() * 2);
+            state.tokens.forEach(grown::addToken);
+            state.users.forEach(grown::addUser);
+            state = grown;
+        }
+        state.add(revocation);
+    }
+
+    private static String tokenKey(String tokenId) {
+        return "t:" + tokenId;
+    }
+
+    private static String userKey(Long userId) {
+        return "u:" + userId;
+    }
+
+    // Bloom bits are set before the exact entry, so a reader never sees an entry the filter would hide
+    private static class State {
+        final BloomFilter filter;
+        final Set<String> tokens = ConcurrentHashMap.newKeySet();
+        final Map<Long, Long> users = new ConcurrentHashMap<>();
+
+        State(int capacity) {
+            filter = new BloomFilter(Math.max(capacity, 1024));
+        }
+
+        int size() {
+            return tokens.size() + users.size();
+        }
+
+        void add(TokenRevocation revocation) {
+            if (revocation.getTokenId() != null) {
+                addToken(revocation.getTokenId());
+            }
+            if (revocation.getUserId() != null) {
+                addUser(revocation.getUserId(),
+                        revocation.getRevokedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            }
+        }
+
+        void addToken(String tokenId) {
+            filter.add(tokenKey(tokenId));
+            tokens.add(tokenId);
+        }
+
+        void addUser(Long userId, Long revokedAt) {
+            filter.add(userKey(userId));
+            users.merge(userId, revokedAt, Math::max);
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.InventoryFlow.InventoryFlow.dto.LoginResponse;
 import com.InventoryFlow.InventoryFlow.entity.User;
 import com.InventoryFlow.InventoryFlow.repository.UserRepository;
 import com.InventoryFlow.InventoryFlow.security.JwtUtil;
+import com.InventoryFlow.InventoryFlow.security.TokenRevocationList;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -31,16 +33,19 @@ public class AuthService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private TokenRevocationList revocationList;
+
     public LoginResponse login(LoginRequest request) {
         authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
         );
 
         UserDetails userDetails = userDetailsService.loadUserByUsername(request.getUsername());
-        String token = jwtUtil.generateToken(userDetails);
 
         User user = userRepository.findByUsername(request.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found"));
+        String token = jwtUtil.generateToken(userDetails, user.getId());
 
         return new LoginResponse(
                 token,
@@ -52,6 +57,13 @@ public class AuthService {
                 user.getRole().getName().name()
         );
     }
-}
-
 
+    // Rejected here at once and on other nodes after their next revocation sync
+    public void logout(String token) {
+        Claims claims = jwtUtil.parseToken(token);
+        if (claims.getId() == null) {
+            throw new RuntimeException("Token cannot be revoked, please log in again");
+        }
+        revocationList.revokeToken(claims.getId(), claims.getExpiration());
+    }
+}
@@ -0,0 +1,95 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import com.InventoryFlow.InventoryFlow.entity.DocumentSequence;
+import com.InventoryFlow.InventoryFlow.repository.DocumentSequenceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hi/lo allocator: each node reserves a block of numbers per prefix and day from
+ * the document_sequences table and hands them out from memory, so the hot path
+ * runs no query. Numbers are unique across nodes; unused numbers of a block are
+ * skipped on restart. The first block of a day starts above any number already
+ * issued that day, so the day the allocator is deployed carries on from the
+ * numbers the count-based generator handed out.
+ */
+@Service
+public class BlockDocumentNumberAllocator implements DocumentNumberAllocator {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    @Autowired
+    private DocumentSequenceRepository sequenceRepository;
+
+    @Value("${inventoryflow.document-numbers.block-size:20}")
+    private long blockSize;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public BlockDocumentNumberAllocator(PlatformTransactionManager transactionManager) {
+        // Blocks are reserved in their own transaction so the row lock is released immediately
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public String nextNumber(String prefix) {
+        LocalDate today = LocalDate.now();
+        Block block = blocks.computeIfAbsent(prefix, key -> new Block());
+        long value;
+        synchronized (block) {
+            if (!today.equals(block.date) || block.next >= block.limit) {
+                block.date = today;
+                block.limit = reserveBlock(prefix, today);
+                block.next = block.limit - blockSize;
+            }
+            value = block.next++;
+        }
+        return numberPrefix(prefix, today) + String.format("%05d", value);
+    }
+
+    // Returns the exclusive upper bound of the newly reserved block
+    private long reserveBlock(String prefix, LocalDate date) {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    if (sequenceRepository.reserveBlock(prefix, date, blockSize) > 0) {
+                        return sequenceRepository.findNextValue(prefix, date)
+                                .orElseThrow(() -> new RuntimeException("Document sequence not found: " + prefix));
+                    }
+                    // First block of the day for this prefix
+                    String numberPrefix = numberPrefix(prefix, date);
+                    Long issued = sequenceRepository.findHighestIssuedNumber(numberPrefix + "%", numberPrefix.length() + 1);
+                    long limit = (issued != null ? issued + 1 : 1) + blockSize;
+                    sequenceRepository.saveAndFlush(new DocumentSequence(null, prefix, date, limit));
+                    return limit;
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Another node created the row first; reserve from it on the next attempt
+            }
+        }
+        throw new RuntimeException("Could not allocate document number for prefix: " + prefix);
+    }
+
+    private static String numberPrefix(String prefix, LocalDate date) {
+        return prefix + "-" + date.format(DATE_FORMAT) + "-";
+    }
+
+    private static class Block {
+        private LocalDate date;
+        private long next;
+        private long limit;
+    }
+}
@@ -17,6 +17,15 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ReportDataVersion reportDataVersion;
+
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     public CategoryDTO createCategory(CategoryDTO categoryDTO) {
         if (categoryRepository.existsByName(categoryDTO.getName())) {
             throw new RuntimeException("Category name already exists");
@@ -57,6 +66,9 @@ public class CategoryService {
         category.setActive(categoryDTO.getActive() != null && categoryDTO.getActive() == 1 ? 1 : 0);
 
         Category updated = categoryRepository.save(category);
+        reportDataVersion.changed();
+        itemSearchIndex.categoryChanged(updated.getId(), updated.getName());
+        referenceDataCache.categoryChanged(updated.getId());
         return convertToDTO(updated);
     }
 
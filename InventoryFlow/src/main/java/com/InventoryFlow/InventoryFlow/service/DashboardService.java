@@ -1,22 +1,45 @@
 package com.InventoryFlow.InventoryFlow.service;
 
 import com.InventoryFlow.InventoryFlow.dto.DashboardDTO;
-import com.InventoryFlow.InventoryFlow.dto.ItemDTO;
-import com.InventoryFlow.InventoryFlow.dto.StockDTO;
+import com.InventoryFlow.InventoryFlow.dto.LowStockItemDTO;
 import com.InventoryFlow.InventoryFlow.repository.*;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+/**
+ * Assembles the dashboard from independent parts that run concurrently on a
+ * dedicated executor, so its latency is that of the slowest part rather than
+ * the sum. A part that fails or misses the deadline is left empty and listed
+ * in {@code unavailableParts} instead of failing the whole dashboard. Database
+ * parts run in a read-only transaction whose timeout is the time left until
+ * the deadline, so their statements are cancelled by the database rather
+ * than running on after the dashboard has been returned without them.
+ */
 @Service
 public class DashboardService {
 
+    private static final Logger log = LoggerFactory.getLogger(DashboardService.class);
+
     @Autowired
     private ItemRepository itemRepository;
 
@@ -24,80 +47,170 @@ public class DashboardService {
     private SupplierRepository supplierRepository;
 
     @Autowired
-    private StockRepository stockRepository;
+    private SalesOrderRepository salesOrderRepository;
 
     @Autowired
-    private SalesOrderRepository salesOrderRepository;
+    private PurchaseOrderRepository purchaseOrderRepository;
 
     @Autowired
-    private StockService stockService;
+    private LowStockIndex lowStockIndex;
 
     @Autowired
-    private ItemService itemService;
+    private InventoryCostingService inventoryCostingService;
 
-    public DashboardDTO getDashboardData() {
-        DashboardDTO dashboard = new DashboardDTO();
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${inventoryflow.dashboard.chart-months:12}")
+    private int chartMonths;
+
+    @Value("${inventoryflow.dashboard.low-stock-limit:10}")
+    private int lowStockLimit;
+
+    @Value("${inventoryflow.dashboard.part-timeout-ms:5000}")
+    private long partTimeoutMs;
+
+    private final Executor executor;
+    private final ExecutorService platformExecutor;
+
+    public DashboardService(@Value("${inventoryflow.dashboard.workers:12}") int workers, Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            this.platformExecutor = null;
+            this.executor = new VirtualThreadTaskExecutor("dashboard-");
+        } else {
+            // Once every worker is busy the caller runs the part itself, degrading to sequential
+            AtomicInteger threadCount = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(workers, workers, 60L, TimeUnit.SECONDS,
+                    new SynchronousQueue<>(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "dashboard-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+            pool.allowCoreThreadTimeOut(true);
+            this.platformExecutor = pool;
+            this.executor = pool;
+        }
+    }
 
-        // Basic counts
-        dashboard.setTotalItems(itemRepository.count());
-        dashboard.setTotalSuppliers(supplierRepository.count());
+    @PreDestroy
+    public void shutdown() {
+        if (platformExecutor != null) {
+            platformExecutor.shutdownNow();
+        }
+    }
 
-        // Stock value
-        BigDecimal stockValue = stockRepository.getTotalStockValue();
-        dashboard.setStockValue(stockValue != null ? stockValue : BigDecimal.ZERO);
+    public DashboardDTO getDashboardData() {
+        YearMonth currentMonth = YearMonth.now();
+        YearMonth firstMonth = currentMonth.minusMonths(Math.max(chartMonths, 1) - 1);
+
+        // Every part shares one deadline, measured from when they are submitted
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(partTimeoutMs);
+
+        CompletableFuture<Long> totalItems = submitQuery(itemRepository::count, deadline);
+        CompletableFuture<Long> totalSuppliers = submitQuery(supplierRepository::count, deadline);
+        // Stock value from the maintained cost balances
+        CompletableFuture<BigDecimal> stockValue = submitQuery(inventoryCostingService::getTotalStockValue, deadline);
+        // Low stock items: served from the in-memory index, most severe first
+        CompletableFuture<List<LowStockItemDTO>> lowStock = CompletableFuture.supplyAsync(
+                () -> lowStockIndex.getLowStockItems(lowStockLimit), executor);
+        // Monthly series: one grouped query per fact, filled into a dense window of months
+        CompletableFuture<Map<YearMonth, BigDecimal>> sales = submitQuery(() -> toMonthlyMap(
+                salesOrderRepository.getMonthlySalesBetween(firstMonth.atDay(1), currentMonth.atEndOfMonth())), deadline);
+        CompletableFuture<Map<YearMonth, BigDecimal>> purchases = submitQuery(() -> toMonthlyMap(
+                purchaseOrderRepository.getMonthlyPurchasesBetween(firstMonth.atDay(1), currentMonth.atEndOfMonth())), deadline);
+
+        List<String> unavailable = new ArrayList<>();
 
-        // Monthly sales (current month)
-        LocalDate startOfMonth = YearMonth.now().atDay(1);
-        LocalDate endOfMonth = YearMonth.now().atEndOfMonth();
-        BigDecimal monthlySales = salesOrderRepository.getTotalSalesBetween(startOfMonth, endOfMonth);
-        dashboard.setMonthlySales(monthlySales != null ? monthlySales : BigDecimal.ZERO);
+        DashboardDTO dashboard = new DashboardDTO();
+        dashboard.setTotalItems(await("totalItems", totalItems, deadline, unavailable));
+        dashboard.setTotalSuppliers(await("totalSuppliers", totalSuppliers, deadline, unavailable));
+        dashboard.setStockValue(await("stockValue", stockValue, deadline, unavailable));
 
-        // Low stock items
-        List<ItemDTO> lowStockItems = itemService.getLowStockItems();
-        List<DashboardDTO.LowStockItemDTO> lowStockDTOs = lowStockItems.stream()
+        List<LowStockItemDTO> lowStockItems = await("lowStockItems", lowStock, deadline, unavailable);
+        dashboard.setLowStockItems(lowStockItems == null ? List.of() : lowStockItems.stream()
                 .map(item -> {
-                    StockDTO stock = stockService.getStockByItemId(item.getId());
                     DashboardDTO.LowStockItemDTO dto = new DashboardDTO.LowStockItemDTO();
-                    dto.setItemId(item.getId());
+                    dto.setItemId(item.getItemId());
                     dto.setItemName(item.getName());
                     dto.setSku(item.getSku());
-                    dto.setCurrentStock(stock.getQuantityOnHand());
+                    dto.setCurrentStock(item.getCurrentStock());
                     dto.setReorderLevel(item.getReorderLevel());
                     return dto;
                 })
-                .collect(Collectors.toList());
-        dashboard.setLowStockItems(lowStockDTOs);
+                .collect(Collectors.toList()));
 
-        // Monthly sales data (last 12 months)
-        List<DashboardDTO.MonthlySalesDTO> monthlySalesData = new ArrayList<>();
-        for (int i = 11; i >= 0; i--) {
-            YearMonth month = YearMonth.now().minusMonths(i);
-            LocalDate start = month.atDay(1);
-            LocalDate end = month.atEndOfMonth();
-            BigDecimal sales = salesOrderRepository.getTotalSalesBetween(start, end);
-            DashboardDTO.MonthlySalesDTO dto = new DashboardDTO.MonthlySalesDTO();
-            dto.setMonth(month.toString());
-            dto.setSales(sales != null ? sales : BigDecimal.ZERO);
-            monthlySalesData.add(dto);
-        }
-        dashboard.setMonthlySalesData(monthlySalesData);
+        // A missing series leaves its amounts null rather than reporting zero
+        Map<YearMonth, BigDecimal> salesByMonth = await("monthlySales", sales, deadline, unavailable);
+        Map<YearMonth, BigDecimal> purchasesByMonth = await("monthlyPurchases", purchases, deadline, unavailable);
+
+        dashboard.setMonthlySales(amount(salesByMonth, currentMonth));
 
-        // PO vs SO data (simplified - you may need to add PO total calculation)
+        List<DashboardDTO.MonthlySalesDTO> monthlySalesData = new ArrayList<>();
         List<DashboardDTO.POvsSODTO> poVsSoData = new ArrayList<>();
-        for (int i = 11; i >= 0; i--) {
-            YearMonth month = YearMonth.now().minusMonths(i);
-            LocalDate start = month.atDay(1);
-            LocalDate end = month.atEndOfMonth();
-            BigDecimal sales = salesOrderRepository.getTotalSalesBetween(start, end);
-            DashboardDTO.POvsSODTO dto = new DashboardDTO.POvsSODTO();
-            dto.setMonth(month.toString());
-            dto.setPurchaseAmount(BigDecimal.ZERO); // TODO: Calculate PO totals
-            dto.setSalesAmount(sales != null ? sales : BigDecimal.ZERO);
-            poVsSoData.add(dto);
+        for (YearMonth month = firstMonth; !month.isAfter(currentMonth); month = month.plusMonths(1)) {
+            BigDecimal salesAmount = amount(salesByMonth, month);
+
+            DashboardDTO.MonthlySalesDTO salesDTO = new DashboardDTO.MonthlySalesDTO();
+            salesDTO.setMonth(month.toString());
+            salesDTO.setSales(salesAmount);
+            monthlySalesData.add(salesDTO);
+
+            DashboardDTO.POvsSODTO poVsSoDTO = new DashboardDTO.POvsSODTO();
+            poVsSoDTO.setMonth(month.toString());
+            poVsSoDTO.setPurchaseAmount(amount(purchasesByMonth, month));
+            poVsSoDTO.setSalesAmount(salesAmount);
+            poVsSoData.add(poVsSoDTO);
         }
+        dashboard.setMonthlySalesData(monthlySalesData);
         dashboard.setPoVsSoData(poVsSoData);
+        dashboard.setUnavailableParts(unavailable);
 
         return dashboard;
     }
+
+    // The timeout is taken when the part starts, rounded up to the whole seconds transactions are timed in
+    private <T> CompletableFuture<T> submitQuery(Supplier<T> part, long deadline) {
+        return CompletableFuture.supplyAsync(() -> {
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMs <= 0) {
+                throw new RuntimeException("Deadline passed before the part started");
+            }
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.setTimeout((int) Math.min((remainingMs + 999) / 1000, Integer.MAX_VALUE));
+            return transaction.execute(status -> part.get());
+        }, executor);
+    }
+
+    // Null when the part failed or missed the deadline; the part is then reported as unavailable. Parts are not
+    // cancelled here: cancelling a CompletableFuture does not interrupt its task, the transaction timeout ends it.
+    private <T> T await(String part, CompletableFuture<T> future, long deadline, List<String> unavailable) {
+        try {
+            return future.get(Math.max(deadline - System.nanoTime(), 0L), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Dashboard part {} did not finish within {} ms", part, partTimeoutMs);
+        } catch (ExecutionException e) {
+            log.warn("Dashboard part {} failed", part, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        unavailable.add(part);
+        return null;
+    }
+
+    private BigDecimal amount(Map<YearMonth, BigDecimal> byMonth, YearMonth month) {
+        return byMonth != null ? byMonth.getOrDefault(month, BigDecimal.ZERO) : null;
+    }
+
+    private Map<YearMonth, BigDecimal> toMonthlyMap(List<Object[]> rows) {
+        Map<YearMonth, BigDecimal> totals = new HashMap<>();
+        for (Object[] row : rows) {
+            YearMonth month = YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+            totals.put(month, row[2] != null ? (BigDecimal) row[2] : BigDecimal.ZERO);
+        }
+        return totals;
+    }
 }
 
@@ -0,0 +1,6 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+// Hands out document numbers such as SO-20240101-00001
+public interface DocumentNumberAllocator {
+    String nextNumber(String prefix);
+}
@@ -0,0 +1,258 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import com.InventoryFlow.InventoryFlow.dto.DocumentSearchHitDTO;
+import com.InventoryFlow.InventoryFlow.entity.*;
+import com.InventoryFlow.InventoryFlow.repository.*;
+import com.InventoryFlow.InventoryFlow.util.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Global search over sales and purchase orders, GRNs, GINs and invoices by
+ * document number, source document number, customer or supplier name,
+ * customer phone and remarks, answered from memory instead of LIKE scans over
+ * five tables. Built at startup and updated after commit by the document
+ * services; customer and supplier changes are pushed to dependent documents.
+ */
+@Component
+public class DocumentSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentSearchIndex.class);
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 100;
+
+    public enum DocumentType { SALES_ORDER, PURCHASE_ORDER, GRN, GIN, INVOICE }
+
+    @Autowired
+    private SalesOrderRepository salesOrderRepository;
+
+    @Autowired
+    private PurchaseOrderRepository purchaseOrderRepository;
+
+    @Autowired
+    private GoodsReceiveNoteRepository grnRepository;
+
+    @Autowired
+    private GoodsIssueNoteRepository ginRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final TextIndex<Key> index = new TextIndex<>();
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void build() {
+        long start = System.currentTimeMillis();
+        entries.clear();
+        index.clear();
+        salesOrderRepository.findAll().forEach(so -> put(Entry.of(so)));
+        purchaseOrderRepository.findAllForSearch().forEach(po -> put(Entry.of(po)));
+        grnRepository.findAllForSearch().forEach(grn -> put(Entry.of(grn)));
+        ginRepository.findAllForSearch().forEach(gin -> put(Entry.of(gin)));
+        invoiceRepository.findAll().forEach(invoice -> put(Entry.of(invoice)));
+        ready = true;
+        log.info("Document search index built: {} documents, {} grams in {} ms",
+                entries.size(), index.gramCount(), System.currentTimeMillis() - start);
+    }
+
+    public List<DocumentSearchHitDTO> search(String query, Integer limit) {
+        int max = limit != null ? limit : DEFAULT_LIMIT;
+        if (max < 1 || max > MAX_LIMIT) {
+            throw new RuntimeException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        List<String> terms = TextIndex.tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        if (!ready) {
+            build();
+        }
+
+        String whole = String.join("", terms);
+        List<Hit> hits = new ArrayList<>();
+        for (Key key : index.find(terms)) {
+            Entry entry = entries.get(key);
+            int score = entry != null ? entry.score(terms, whole) : 0;
+            if (score > 0) {
+                hits.add(new Hit(entry, score));
+            }
+        }
+        // Best match first, then the most recent document
+        return hits.stream()
+                .sorted(Comparator.comparingInt(Hit::score).reversed()
+                        .thenComparing(hit -> hit.entry().date(), Comparator.nullsLast(Comparator.reverseOrder()))
+                        .thenComparing(hit -> hit.entry().key().type())
+                        .thenComparing(hit -> hit.entry().key().id(), Comparator.reverseOrder()))
+                .limit(max)
+                .map(hit -> hit.entry().toDTO())
+                .collect(Collectors.toList());
+    }
+
+    // Called inside the document transaction; applied only once it commits
+    public void salesOrderChanged(SalesOrder so) {
+        Entry changed = Entry.of(so);
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                put(changed);
+                // GINs and invoices show the customer of their sales order
+                updateWhere(entry -> changed.salesOrderId().equals(entry.salesOrderId())
+                                && entry.key().type() != DocumentType.SALES_ORDER,
+                        entry -> entry.withParty(changed.party(), changed.phone()));
+            }
+        });
+    }
+
+    public void purchaseOrderChanged(PurchaseOrder po) {
+        Entry changed = Entry.of(po);
+        AfterCommit.run(() -> put(changed));
+    }
+
+    public void grnChanged(GoodsReceiveNote grn) {
+        Entry changed = Entry.of(grn);
+        AfterCommit.run(() -> put(changed));
+    }
+
+    public void ginChanged(GoodsIssueNote gin) {
+        Entry changed = Entry.of(gin);
+        AfterCommit.run(() -> put(changed));
+    }
+
+    public void invoiceChanged(Invoice invoice) {
+        Entry changed = Entry.of(invoice);
+        AfterCommit.run(() -> put(changed));
+    }
+
+    public void supplierChanged(Long supplierId, String supplierName) {
+        AfterCommit.run(() -> updateWhere(entry -> supplierId.equals(entry.supplierId()),
+                entry -> entry.withParty(supplierName, null)));
+    }
+
+    private synchronized void updateWhere(Predicate<Entry> filter, UnaryOperator<Entry> change) {
+        entries.values().stream()
+                .filter(filter)
+                .map(change)
+                .toList()
+                .forEach(this::put);
+    }
+
+    private synchronized void put(Entry entry) {
+        Entry previous = entries.put(entry.key(), entry);
+        if (previous != null) {
+            index.remove(previous.key(), previous.allWords());
+        }
+        index.add(entry.key(), entry.allWords());
+    }
+
+    private record Key(DocumentType type, Long id) {
+    }
+
+    private record Hit(Entry entry, int score) {
+    }
+
+    private record Words(List<String> number, List<String> reference, List<String> party, List<String> remarks) {
+    }
+
+    private record Entry(Key key, String number, LocalDate date, String party, String phone, String reference,
+                         String status, String remarks, Long salesOrderId, Long supplierId, Words words) {
+
+        static Entry of(SalesOrder so) {
+            return create(new Key(DocumentType.SALES_ORDER, so.getId()), so.getSoNumber(), so.getOrderDate(),
+                    so.getCustomerName(), so.getCustomerPhone(), null, so.getStatus().name(), so.getRemarks(),
+                    so.getId(), null);
+        }
+
+        static Entry of(PurchaseOrder po) {
+            return create(new Key(DocumentType.PURCHASE_ORDER, po.getId()), po.getPoNumber(), po.getOrderDate(),
+                    po.getSupplier().getName(), null, null, po.getStatus().name(), po.getRemarks(),
+                    null, po.getSupplier().getId());
+        }
+
+        static Entry of(GoodsReceiveNote grn) {
+            PurchaseOrder po = grn.getPurchaseOrder();
+            return create(new Key(DocumentType.GRN, grn.getId()), grn.getGrnNumber(), grn.getReceiveDate(),
+                    po.getSupplier().getName(), null, po.getPoNumber(), null, grn.getRemarks(),
+                    null, po.getSupplier().getId());
+        }
+
+        static Entry of(GoodsIssueNote gin) {
+            SalesOrder so = gin.getSalesOrder();
+            return create(new Key(DocumentType.GIN, gin.getId()), gin.getGinNumber(), gin.getIssueDate(),
+                    so.getCustomerName(), so.getCustomerPhone(), so.getSoNumber(), gin.getStatus().name(),
+                    gin.getRemarks(), so.getId(), null);
+        }
+
+        static Entry of(Invoice invoice) {
+            SalesOrder so = invoice.getSalesOrder();
+            return create(new Key(DocumentType.INVOICE, invoice.getId()), invoice.getInvoiceNumber(),
+                    invoice.getInvoiceDate(), so.getCustomerName(), so.getCustomerPhone(), so.getSoNumber(),
+                    invoice.getPaymentStatus().name(), null, so.getId(), null);
+        }
+
+        // Numbers and phones are also indexed without separators, so "so2024" finds "SO-2024-..."
+        private static Entry create(Key key, String number, LocalDate date, String party, String phone,
+                                    String reference, String status, String remarks, Long salesOrderId, Long supplierId) {
+            List<String> partyWords = new ArrayList<>(joined(party));
+            partyWords.addAll(joined(phone));
+            Words words = new Words(joined(number), joined(reference), partyWords, TextIndex.tokenize(remarks));
+            return new Entry(key, number, date, party, phone, reference, status, remarks, salesOrderId, supplierId, words);
+        }
+
+        private static List<String> joined(String text) {
+            List<String> words = new ArrayList<>(TextIndex.tokenize(text));
+            if (words.size() > 1) {
+                words.add(String.join("", words));
+            }
+            return words;
+        }
+
+        Entry withParty(String newParty, String newPhone) {
+            return create(key, number, date, newParty, newPhone, reference, status, remarks, salesOrderId, supplierId);
+        }
+
+        Set<String> allWords() {
+            Set<String> all = new HashSet<>(words.number());
+            all.addAll(words.reference());
+            all.addAll(words.party());
+            all.addAll(words.remarks());
+            return all;
+        }
+
+        // Zero when some term matches nowhere, so trigram false positives drop out
+        int score(List<String> terms, String whole) {
+            int score = words.number().contains(whole) ? 100 : 0;
+            for (String term : terms) {
+                int best = 0;
+                if (TextIndex.startsAny(words.number(), term)) best = 50;
+                else if (TextIndex.startsAny(words.party(), term)) best = 40;
+                else if (TextIndex.startsAny(words.reference(), term)) best = 30;
+                else if (TextIndex.containsAny(words.number(), term) || TextIndex.containsAny(words.party(), term)) best = 20;
+                else if (TextIndex.containsAny(words.reference(), term)) best = 15;
+                else if (TextIndex.startsAny(words.remarks(), term)) best = 10;
+                else if (TextIndex.containsAny(words.remarks(), term)) best = 5;
+                if (best == 0) {
+                    return 0;
+                }
+                score += best;
+            }
+            return score;
+        }
+
+        DocumentSearchHitDTO toDTO() {
+            return new DocumentSearchHitDTO(key.type().name(), key.id(), number, date, party, reference, status);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming sheet writer on top of SXSSF: only the last {@code rowWindow} rows
+ * stay in memory, styles are created once per workbook, and column widths are
+ * estimated from the first sampled rows instead of autoSizeColumn.
+ */
+class ExcelReportWriter implements AutoCloseable {
+
+    private static final int SAMPLE_ROWS = 100;
+    private static final int MAX_COLUMN_CHARS = 60;
+
+    private final SXSSFWorkbook workbook;
+    private final SXSSFSheet sheet;
+    private final CellStyle boldStyle;
+    private final List<Integer> columnChars = new ArrayList<>();
+    private int rowNum = 0;
+    private int sampledRows = 0;
+
+    ExcelReportWriter(String sheetName, int rowWindow) {
+        workbook = new SXSSFWorkbook(rowWindow);
+        workbook.setCompressTempFiles(true);
+        sheet = workbook.createSheet(sheetName);
+
+        boldStyle = workbook.createCellStyle();
+        Font boldFont = workbook.createFont();
+        boldFont.setBold(true);
+        boldStyle.setFont(boldFont);
+    }
+
+    void titleRow(String text) {
+        Row row = sheet.createRow(rowNum++);
+        setValue(row.createCell(0), text);
+        row.getCell(0).setCellStyle(boldStyle);
+    }
+
+    void blankRow() {
+        rowNum++;
+    }
+
+    void headerRow(String... headers) {
+        Row row = sheet.createRow(rowNum++);
+        for (int i = 0; i < headers.length; i++) {
+            Cell cell = row.createCell(i);
+            cell.setCellValue(headers[i]);
+            cell.setCellStyle(boldStyle);
+            sample(i, headers[i]);
+        }
+    }
+
+    void dataRow(Object... values) {
+        Row row = sheet.createRow(rowNum++);
+        boolean sampling = sampledRows++ < SAMPLE_ROWS;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                setValue(row.createCell(i), values[i]);
+                if (sampling) {
+                    sample(i, values[i]);
+                }
+            }
+        }
+    }
+
+    void write(OutputStream out) throws IOException {
+        for (int i = 0; i < columnChars.size(); i++) {
+            sheet.setColumnWidth(i, (Math.min(columnChars.get(i), MAX_COLUMN_CHARS) + 2) * 256);
+        }
+        workbook.write(out);
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Removes the temporary row files backing the flushed rows
+        workbook.dispose();
+        workbook.close();
+    }
+
+    private void sample(int column, Object value) {
+        while (columnChars.size() <= column) {
+            columnChars.add(0);
+        }
+        int length = String.valueOf(value).length();
+        if (length > columnChars.get(column)) {
+            columnChars.set(column, length);
+        }
+    }
+
+    private void setValue(Cell cell, Object value) {
+        if (value instanceof String) {
+            cell.setCellValue((String) value);
+        } else if (value instanceof Integer) {
+            cell.setCellValue((Integer) value);
+        } else if (value instanceof BigDecimal) {
+            cell.setCellValue(((BigDecimal) value).doubleValue());
+        } else if (value instanceof Double) {
+            cell.setCellValue((Double) value);
+        } else {
+            cell.setCellValue(String.valueOf(value));
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.InventoryFlow.InventoryFlow.service;
 
 import com.InventoryFlow.InventoryFlow.dto.GoodsIssueNoteDTO;
 import com.InventoryFlow.InventoryFlow.dto.GINLineDTO;
+import com.InventoryFlow.InventoryFlow.dto.PageQuery;
+import com.InventoryFlow.InventoryFlow.dto.PageResponse;
+import com.InventoryFlow.InventoryFlow.dto.GoodsIssueNoteSummaryDTO;
 import com.InventoryFlow.InventoryFlow.entity.*;
 import com.InventoryFlow.InventoryFlow.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,28 +13,45 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class GoodsIssueNoteService {
 
+    private static final KeysetPager<GoodsIssueNote> PAGER = new KeysetPager<GoodsIssueNote>()
+            .sortable("ginNumber", "ginNumber", String.class)
+            .sortable("issueDate", "issueDate", LocalDate.class)
+            .sortable("createdAt", "createdAt", LocalDateTime.class)
+            .filterable("ginNumber", "ginNumber", String.class)
+            .filterable("status", "status", GoodsIssueNote.GINStatus.class)
+            .filterable("salesOrderId", "salesOrder.id", Long.class)
+            .filterable("issueDate", "issueDate", LocalDate.class);
+
     @Autowired
     private GoodsIssueNoteRepository ginRepository;
 
+    @Autowired
+    private DocumentNumberAllocator documentNumberAllocator;
+
     @Autowired
     private SalesOrderRepository soRepository;
 
     @Autowired
-    private ItemRepository itemRepository;
+    private LineItemResolver lineItemResolver;
 
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
-    private StockRepository stockRepository;
+    private StockService stockService;
+
+    @Autowired
+    private DocumentSearchIndex documentSearchIndex;
 
     public GoodsIssueNoteDTO createGINFromSO(Long soId, GoodsIssueNoteDTO ginDTO) {
         SalesOrder so = soRepository.findById(soId)
@@ -52,21 +72,10 @@ public class GoodsIssueNoteService {
         gin.setIssuedBy(issuedBy);
         gin.setStatus(GoodsIssueNote.GINStatus.DRAFT);
 
-        for (GINLineDTO lineDTO : ginDTO.getGinLines()) {
-            Item item = itemRepository.findById(lineDTO.getItemId())
-                    .orElseThrow(() -> new RuntimeException("Item not found"));
-
-            // Validate that item is active
-            if (item.getActive() == null || item.getActive() != 1) {
-                throw new RuntimeException("Item '" + item.getName() + "' is inactive and cannot be used in GIN");
-            }
-
-            Stock stock = stockRepository.findByItemId(item.getId())
-                    .orElseThrow(() -> new RuntimeException("Stock not found"));
+        Map<Long, Item> items = resolveLineItems(ginDTO);
 
-            if (stock.getQuantityOnHand() < lineDTO.getQuantityIssued()) {
-                throw new RuntimeException("Insufficient stock for item: " + item.getName());
-            }
+        for (GINLineDTO lineDTO : ginDTO.getGinLines()) {
+            Item item = items.get(lineDTO.getItemId());
 
             GINLine line = new GINLine();
             line.setGin(gin);
@@ -77,19 +86,22 @@ public class GoodsIssueNoteService {
             line.setTotalPrice(lineDTO.getUnitPrice().multiply(BigDecimal.valueOf(lineDTO.getQuantityIssued())));
             gin.getGinLines().add(line);
 
-            // Reduce stock
-            stock.setQuantityOnHand(stock.getQuantityOnHand() - lineDTO.getQuantityIssued());
-            stockRepository.save(stock);
+            // Reduce stock (fails the whole GIN if stock is insufficient)
+            stockService.issueStock(item.getId(), lineDTO.getQuantityIssued(),
+                    StockMovement.MovementType.GIN_ISSUE, gin.getGinNumber());
         }
 
         GoodsIssueNote saved = ginRepository.save(gin);
+        documentSearchIndex.ginChanged(saved);
         return convertToDTO(saved);
     }
 
-    public List<GoodsIssueNoteDTO> getAllGINs() {
-        return ginRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public List<GoodsIssueNoteSummaryDTO> getAllGINs() {
+        return ginRepository.findAllSummaries();
+    }
+
+    public PageResponse<GoodsIssueNoteSummaryDTO> getGINsPage(PageQuery query) {
+        return PAGER.pageAll(ginRepository, query, this::toSummaries);
     }
 
     public GoodsIssueNoteDTO getGINById(Long id) {
@@ -109,11 +121,9 @@ public class GoodsIssueNoteService {
 
         // Reverse previous stock reductions
         for (GINLine existingLine : gin.getGinLines()) {
-            Stock stock = stockRepository.findByItemId(existingLine.getItem().getId())
-                    .orElseThrow(() -> new RuntimeException("Stock not found"));
             // Restore the stock that was previously reduced
-            stock.setQuantityOnHand(stock.getQuantityOnHand() + existingLine.getQuantityIssued());
-            stockRepository.save(stock);
+            stockService.receiveStock(existingLine.getItem().getId(), existingLine.getQuantityIssued(),
+                    StockMovement.MovementType.GIN_REVERSAL, gin.getGinNumber());
         }
 
         // Update GIN fields
@@ -124,21 +134,10 @@ public class GoodsIssueNoteService {
         gin.getGinLines().clear();
 
         // Add new lines and reduce stock
-        for (GINLineDTO lineDTO : ginDTO.getGinLines()) {
-            Item item = itemRepository.findById(lineDTO.getItemId())
-                    .orElseThrow(() -> new RuntimeException("Item not found"));
-
-            // Validate that item is active
-            if (item.getActive() == null || item.getActive() != 1) {
-                throw new RuntimeException("Item '" + item.getName() + "' is inactive and cannot be used in GIN");
-            }
+        Map<Long, Item> items = resolveLineItems(ginDTO);
 
-            Stock stock = stockRepository.findByItemId(item.getId())
-                    .orElseThrow(() -> new RuntimeException("Stock not found"));
-
-            if (stock.getQuantityOnHand() < lineDTO.getQuantityIssued()) {
-                throw new RuntimeException("Insufficient stock for item: " + item.getName());
-            }
+        for (GINLineDTO lineDTO : ginDTO.getGinLines()) {
+            Item item = items.get(lineDTO.getItemId());
 
             GINLine line = new GINLine();
             line.setGin(gin);
@@ -149,12 +148,13 @@ public class GoodsIssueNoteService {
             line.setTotalPrice(lineDTO.getUnitPrice().multiply(BigDecimal.valueOf(lineDTO.getQuantityIssued())));
             gin.getGinLines().add(line);
 
-            // Reduce stock
-            stock.setQuantityOnHand(stock.getQuantityOnHand() - lineDTO.getQuantityIssued());
-            stockRepository.save(stock);
+            // Reduce stock (fails the whole GIN if stock is insufficient)
+            stockService.issueStock(item.getId(), lineDTO.getQuantityIssued(),
+                    StockMovement.MovementType.GIN_ISSUE, gin.getGinNumber());
         }
 
         GoodsIssueNote saved = ginRepository.save(gin);
+        documentSearchIndex.ginChanged(saved);
         return convertToDTO(saved);
     }
 
@@ -170,14 +170,30 @@ public class GoodsIssueNoteService {
         }
         
         GoodsIssueNote saved = ginRepository.save(gin);
+        documentSearchIndex.ginChanged(saved);
         return convertToDTO(saved);
     }
 
+    private Map<Long, Item> resolveLineItems(GoodsIssueNoteDTO ginDTO) {
+        Map<Long, Item> items = lineItemResolver.resolveActiveItems(
+                ginDTO.getGinLines().stream().map(GINLineDTO::getItemId).collect(Collectors.toList()),
+                "GIN");
+        lineItemResolver.checkStockAvailable(
+                ginDTO.getGinLines().stream().collect(Collectors.groupingBy(
+                        GINLineDTO::getItemId, Collectors.summingInt(GINLineDTO::getQuantityIssued))),
+                items);
+        return items;
+    }
+
     private String generateGINNumber() {
-        String prefix = "GIN";
-        String dateStr = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        long count = ginRepository.count();
-        return String.format("%s-%s-%05d", prefix, dateStr, count + 1);
+        return documentNumberAllocator.nextNumber("GIN");
+    }
+
+    // Summaries come back grouped, so put them back in page order
+    private List<GoodsIssueNoteSummaryDTO> toSummaries(List<GoodsIssueNote> page) {
+        Map<Long, GoodsIssueNoteSummaryDTO> byId = ginRepository.findSummariesByIdIn(page.stream().map(GoodsIssueNote::getId).toList()).stream()
+                .collect(Collectors.toMap(GoodsIssueNoteSummaryDTO::getId, Function.identity()));
+        return page.stream().map(row -> byId.get(row.getId())).toList();
     }
 
     private GoodsIssueNoteDTO convertToDTO(GoodsIssueNote gin) {
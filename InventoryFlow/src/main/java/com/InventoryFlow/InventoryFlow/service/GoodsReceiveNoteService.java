@@ -2,6 +2,9 @@ package com.InventoryFlow.InventoryFlow.service;
 
 import com.InventoryFlow.InventoryFlow.dto.GoodsReceiveNoteDTO;
 import com.InventoryFlow.InventoryFlow.dto.GRNLineDTO;
+import com.InventoryFlow.InventoryFlow.dto.PageQuery;
+import com.InventoryFlow.InventoryFlow.dto.PageResponse;
+import com.InventoryFlow.InventoryFlow.dto.GoodsReceiveNoteSummaryDTO;
 import com.InventoryFlow.InventoryFlow.entity.*;
 import com.InventoryFlow.InventoryFlow.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,28 +13,44 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class GoodsReceiveNoteService {
 
+    private static final KeysetPager<GoodsReceiveNote> PAGER = new KeysetPager<GoodsReceiveNote>()
+            .sortable("grnNumber", "grnNumber", String.class)
+            .sortable("receiveDate", "receiveDate", LocalDate.class)
+            .sortable("createdAt", "createdAt", LocalDateTime.class)
+            .filterable("grnNumber", "grnNumber", String.class)
+            .filterable("purchaseOrderId", "purchaseOrder.id", Long.class)
+            .filterable("receiveDate", "receiveDate", LocalDate.class);
+
     @Autowired
     private GoodsReceiveNoteRepository grnRepository;
 
+    @Autowired
+    private DocumentNumberAllocator documentNumberAllocator;
+
     @Autowired
     private PurchaseOrderRepository poRepository;
 
     @Autowired
-    private ItemRepository itemRepository;
+    private LineItemResolver lineItemResolver;
 
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
-    private StockRepository stockRepository;
+    private StockService stockService;
+
+    @Autowired
+    private DocumentSearchIndex documentSearchIndex;
 
     public GoodsReceiveNoteDTO createGRNFromPO(Long poId, GoodsReceiveNoteDTO grnDTO) {
         PurchaseOrder po = poRepository.findById(poId)
@@ -51,14 +70,12 @@ public class GoodsReceiveNoteService {
         grn.setRemarks(grnDTO.getRemarks());
         grn.setReceivedBy(receivedBy);
 
-        for (GRNLineDTO lineDTO : grnDTO.getGrnLines()) {
-            Item item = itemRepository.findById(lineDTO.getItemId())
-                    .orElseThrow(() -> new RuntimeException("Item not found"));
+        Map<Long, Item> items = lineItemResolver.resolveActiveItems(
+                grnDTO.getGrnLines().stream().map(GRNLineDTO::getItemId).collect(Collectors.toList()),
+                "GRN");
 
-            // Validate that item is active
-            if (item.getActive() == null || item.getActive() != 1) {
-                throw new RuntimeException("Item '" + item.getName() + "' is inactive and cannot be used in GRN");
-            }
+        for (GRNLineDTO lineDTO : grnDTO.getGrnLines()) {
+            Item item = items.get(lineDTO.getItemId());
 
             GRNLine line = new GRNLine();
             line.setGrn(grn);
@@ -69,21 +86,22 @@ public class GoodsReceiveNoteService {
             line.setTotalPrice(lineDTO.getUnitPrice().multiply(BigDecimal.valueOf(lineDTO.getQuantityReceived())));
             grn.getGrnLines().add(line);
 
-            // Update stock
-            Stock stock = stockRepository.findByItemId(item.getId())
-                    .orElseThrow(() -> new RuntimeException("Stock not found for item"));
-            stock.setQuantityOnHand(stock.getQuantityOnHand() + lineDTO.getQuantityReceived());
-            stockRepository.save(stock);
+            // Update stock and open a cost layer at the received price
+            stockService.receiveStock(item.getId(), lineDTO.getQuantityReceived(), lineDTO.getUnitPrice(),
+                    StockMovement.MovementType.GRN_RECEIPT, grn.getGrnNumber());
         }
 
         GoodsReceiveNote saved = grnRepository.save(grn);
+        documentSearchIndex.grnChanged(saved);
         return convertToDTO(saved);
     }
 
-    public List<GoodsReceiveNoteDTO> getAllGRNs() {
-        return grnRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public List<GoodsReceiveNoteSummaryDTO> getAllGRNs() {
+        return grnRepository.findAllSummaries();
+    }
+
+    public PageResponse<GoodsReceiveNoteSummaryDTO> getGRNsPage(PageQuery query) {
+        return PAGER.pageAll(grnRepository, query, this::toSummaries);
     }
 
     public GoodsReceiveNoteDTO getGRNById(Long id) {
@@ -93,10 +111,14 @@ public class GoodsReceiveNoteService {
     }
 
     private String generateGRNNumber() {
-        String prefix = "GRN";
-        String dateStr = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        long count = grnRepository.count();
-        return String.format("%s-%s-%05d", prefix, dateStr, count + 1);
+        return documentNumberAllocator.nextNumber("GRN");
+    }
+
+    // Summaries come back grouped, so put them back in page order
+    private List<GoodsReceiveNoteSummaryDTO> toSummaries(List<GoodsReceiveNote> page) {
+        Map<Long, GoodsReceiveNoteSummaryDTO> byId = grnRepository.findSummariesByIdIn(page.stream().map(GoodsReceiveNote::getId).toList()).stream()
+                .collect(Collectors.toMap(GoodsReceiveNoteSummaryDTO::getId, Function.identity()));
+        return page.stream().map(row -> byId.get(row.getId())).toList();
     }
 
     private GoodsReceiveNoteDTO convertToDTO(GoodsReceiveNote grn) {
@@ -0,0 +1,274 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import com.InventoryFlow.InventoryFlow.dto.StockValuationDTO;
+import com.InventoryFlow.InventoryFlow.entity.CostEntry;
+import com.InventoryFlow.InventoryFlow.entity.CostEntryLayer;
+import com.InventoryFlow.InventoryFlow.entity.CostLayer;
+import com.InventoryFlow.InventoryFlow.entity.Item;
+import com.InventoryFlow.InventoryFlow.entity.ItemCost;
+import com.InventoryFlow.InventoryFlow.entity.StockMovement;
+import com.InventoryFlow.InventoryFlow.repository.CostEntryLayerRepository;
+import com.InventoryFlow.InventoryFlow.repository.CostEntryRepository;
+import com.InventoryFlow.InventoryFlow.repository.CostLayerRepository;
+import com.InventoryFlow.InventoryFlow.repository.ItemCostRepository;
+import com.InventoryFlow.InventoryFlow.repository.ItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inventory costing kept up to date movement by movement. Receipts open a cost
+ * layer and fold into the item's moving-average cost; issues consume layers
+ * oldest first and record their FIFO and average cost. Valuation and cost of
+ * sales are then read from one row per item and the issue entries, never
+ * recomputed from the full movement history. GIN issues remember the layers
+ * they consumed, so a reversal returns stock to those layers, at the head of
+ * the FIFO order, rather than queueing it behind newer receipts.
+ */
+@Service
+@Transactional
+public class InventoryCostingService {
+
+    public enum CostingMethod { FIFO, AVERAGE }
+
+    private static final int COST_SCALE = 6;
+    private static final int VALUE_SCALE = 4;
+
+    @Autowired
+    private ItemCostRepository itemCostRepository;
+
+    @Autowired
+    private CostLayerRepository costLayerRepository;
+
+    @Autowired
+    private CostEntryRepository costEntryRepository;
+
+    @Autowired
+    private CostEntryLayerRepository costEntryLayerRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Value("${inventoryflow.costing.method:FIFO}")
+    private CostingMethod costingMethod;
+
+    // Stock coming in at a known cost (GRN) or, when unitCost is null, at the current average cost
+    public void recordReceipt(Long itemId, Integer quantity, BigDecimal unitCost,
+                              StockMovement.MovementType type, String reference) {
+        ItemCost itemCost = lockItemCost(itemId);
+        if (type == StockMovement.MovementType.GIN_REVERSAL) {
+            reverseIssue(itemCost, quantity, reference);
+        } else {
+            addLayer(itemCost, quantity, unitCost != null ? unitCost : itemCost.getAverageCost(), reference);
+            foldIntoAverage(itemCost, quantity, unitCost != null ? unitCost : itemCost.getAverageCost());
+        }
+        itemCostRepository.save(itemCost);
+    }
+
+    // Created with the item, so the first movements of a new item find a row to lock
+    public void createItemCost(Item item) {
+        itemCostRepository.save(newItemCost(item.getId(), item.getCostPrice()));
+    }
+
+    public void recordIssue(Long itemId, Integer quantity, StockMovement.MovementType type, String reference) {
+        ItemCost itemCost = lockItemCost(itemId);
+
+        BigDecimal fifoCost = BigDecimal.ZERO;
+        int remaining = quantity;
+        List<CostEntryLayer> consumed = new ArrayList<>();
+        for (CostLayer layer : costLayerRepository.findOpenLayers(itemId)) {
+            int taken = Math.min(remaining, layer.getQuantityRemaining());
+            layer.setQuantityRemaining(layer.getQuantityRemaining() - taken);
+            fifoCost = fifoCost.add(layer.getUnitCost().multiply(BigDecimal.valueOf(taken)));
+            consumed.add(new CostEntryLayer(null, null, layer, taken));
+            remaining -= taken;
+            if (remaining == 0) {
+                break;
+            }
+        }
+        BigDecimal averageCost = itemCost.getAverageCost().multiply(BigDecimal.valueOf(quantity));
+        // Stock without layers behind it is costed at the average
+        if (remaining > 0) {
+            fifoCost = fifoCost.add(itemCost.getAverageCost().multiply(BigDecimal.valueOf(remaining)));
+        }
+        fifoCost = fifoCost.setScale(VALUE_SCALE, RoundingMode.HALF_UP);
+
+        itemCost.setQuantityOnHand(itemCost.getQuantityOnHand() - quantity);
+        itemCost.setFifoValue(itemCost.getFifoValue().subtract(fifoCost).max(BigDecimal.ZERO));
+        itemCostRepository.save(itemCost);
+
+        CostEntry entry = new CostEntry();
+        entry.setItem(itemCost.getItem());
+        entry.setMovementType(type);
+        entry.setQuantity(quantity);
+        entry.setFifoCost(fifoCost);
+        entry.setAverageCost(averageCost.setScale(VALUE_SCALE, RoundingMode.HALF_UP));
+        entry.setReference(reference);
+        costEntryRepository.save(entry);
+
+        // Only GIN issues are ever reversed
+        if (type == StockMovement.MovementType.GIN_ISSUE) {
+            consumed.forEach(c -> c.setCostEntry(entry));
+            costEntryLayerRepository.saveAll(consumed);
+        }
+    }
+
+    // Cost layers for stock that predates cost tracking, valued at the item's cost price
+    public void recordOpeningBalances() {
+        for (Object[] row : itemCostRepository.findUncostedStock()) {
+            Long itemId = (Long) row[0];
+            Integer quantity = (Integer) row[1];
+            BigDecimal costPrice = (BigDecimal) row[2];
+            ItemCost itemCost = newItemCost(itemId, costPrice);
+            if (quantity > 0) {
+                addLayer(itemCost, quantity, costPrice, null);
+            }
+            itemCost.setQuantityOnHand(quantity);
+            itemCostRepository.save(itemCost);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalStockValue() {
+        BigDecimal value = costingMethod == CostingMethod.FIFO
+                ? itemCostRepository.getTotalFifoValue()
+                : itemCostRepository.getTotalAverageValue();
+        return value.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal getCostOfSales(LocalDate startDate, LocalDate endDate) {
+        BigDecimal cost = costingMethod == CostingMethod.FIFO
+                ? costEntryRepository.getFifoCostOfSalesBetween(startDate, endDate)
+                : costEntryRepository.getAverageCostOfSalesBetween(startDate, endDate);
+        return cost.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public CostingMethod getCostingMethod() {
+        return costingMethod;
+    }
+
+    @Transactional(readOnly = true)
+    public List<StockValuationDTO> getValuation() {
+        return itemCostRepository.findValuation();
+    }
+
+    private ItemCost lockItemCost(Long itemId) {
+        return itemCostRepository.findForUpdate(itemId)
+                .orElseThrow(() -> new RuntimeException("Cost record not found for item: " + itemId));
+    }
+
+    private ItemCost newItemCost(Long itemId, BigDecimal costPrice) {
+        ItemCost itemCost = new ItemCost();
+        itemCost.setItem(itemRepository.getReferenceById(itemId));
+        itemCost.setQuantityOnHand(0);
+        itemCost.setAverageCost(costPrice.setScale(COST_SCALE, RoundingMode.HALF_UP));
+        itemCost.setFifoValue(BigDecimal.ZERO);
+        return itemCost;
+    }
+
+    private void addLayer(ItemCost itemCost, Integer quantity, BigDecimal unitCost, String reference) {
+        CostLayer layer = new CostLayer();
+        layer.setItem(itemCost.getItem());
+        layer.setUnitCost(unitCost.setScale(COST_SCALE, RoundingMode.HALF_UP));
+        layer.setQuantityReceived(quantity);
+        layer.setQuantityRemaining(quantity);
+        layer.setReference(reference);
+        costLayerRepository.save(layer);
+        itemCost.setFifoValue(itemCost.getFifoValue()
+                .add(layer.getUnitCost().multiply(BigDecimal.valueOf(quantity)))
+                .setScale(VALUE_SCALE, RoundingMode.HALF_UP));
+    }
+
+    private void foldIntoAverage(ItemCost itemCost, Integer quantity, BigDecimal unitCost) {
+        int onHand = Math.max(itemCost.getQuantityOnHand(), 0);
+        int newQuantity = onHand + quantity;
+        if (newQuantity > 0) {
+            BigDecimal totalCost = itemCost.getAverageCost().multiply(BigDecimal.valueOf(onHand))
+                    .add(unitCost.multiply(BigDecimal.valueOf(quantity)));
+            itemCost.setAverageCost(totalCost.divide(BigDecimal.valueOf(newQuantity), COST_SCALE, RoundingMode.HALF_UP));
+        }
+        itemCost.setQuantityOnHand(itemCost.getQuantityOnHand() + quantity);
+    }
+
+    // Puts reversed GIN stock back at the cost it was issued at, latest issue first
+    private void reverseIssue(ItemCost itemCost, Integer quantity, String reference) {
+        int remaining = quantity;
+        for (CostEntry entry : costEntryRepository.findByReferenceAndItemIdAndMovementTypeOrderByIdDesc(
+                reference, itemCost.getItem().getId(), StockMovement.MovementType.GIN_ISSUE)) {
+            int reversed = Math.min(remaining, entry.getQuantity());
+            BigDecimal share = BigDecimal.valueOf(reversed)
+                    .divide(BigDecimal.valueOf(entry.getQuantity()), COST_SCALE, RoundingMode.HALF_UP);
+            BigDecimal averageCost = entry.getAverageCost().multiply(share).setScale(VALUE_SCALE, RoundingMode.HALF_UP);
+            BigDecimal fifoCost = restoreLayers(itemCost, entry, reversed);
+            foldIntoAverage(itemCost, reversed, averageCost.divide(BigDecimal.valueOf(reversed), COST_SCALE, RoundingMode.HALF_UP));
+
+            if (reversed == entry.getQuantity()) {
+                costEntryRepository.delete(entry);
+            } else {
+                entry.setQuantity(entry.getQuantity() - reversed);
+                entry.setFifoCost(entry.getFifoCost().subtract(fifoCost).max(BigDecimal.ZERO));
+                entry.setAverageCost(entry.getAverageCost().subtract(averageCost));
+                costEntryRepository.save(entry);
+            }
+            remaining -= reversed;
+            if (remaining == 0) {
+                return;
+            }
+        }
+        // Issued before cost tracking started: comes back at the average cost
+        addLayer(itemCost, remaining, itemCost.getAverageCost(), reference);
+        foldIntoAverage(itemCost, remaining, itemCost.getAverageCost());
+    }
+
+    // Gives units back in the reverse of the order they were taken and returns their FIFO cost. Units
+    // issued past the last layer come back as a layer of their own; the rest go back onto the layers
+    // they came from, which are older than anything received since. Entries recorded before layer
+    // consumption was tracked have no consumption rows and are returned as a new layer as a whole.
+    private BigDecimal restoreLayers(ItemCost itemCost, CostEntry entry, int quantity) {
+        List<CostEntryLayer> consumed = costEntryLayerRepository.findByCostEntryId(entry.getId());
+        int layered = 0;
+        BigDecimal layeredCost = BigDecimal.ZERO;
+        for (CostEntryLayer c : consumed) {
+            layered += c.getQuantity();
+            layeredCost = layeredCost.add(c.getLayer().getUnitCost().multiply(BigDecimal.valueOf(c.getQuantity())));
+        }
+
+        BigDecimal restored = BigDecimal.ZERO;
+        int remaining = quantity;
+        int unlayered = entry.getQuantity() - layered;
+        if (unlayered > 0) {
+            int returned = Math.min(remaining, unlayered);
+            BigDecimal unitCost = entry.getFifoCost().subtract(layeredCost).max(BigDecimal.ZERO)
+                    .divide(BigDecimal.valueOf(unlayered), COST_SCALE, RoundingMode.HALF_UP);
+            addLayer(itemCost, returned, unitCost, entry.getReference());
+            restored = restored.add(unitCost.multiply(BigDecimal.valueOf(returned)));
+            remaining -= returned;
+        }
+        for (CostEntryLayer c : consumed) {
+            if (remaining == 0) {
+                break;
+            }
+            int returned = Math.min(remaining, c.getQuantity());
+            CostLayer layer = c.getLayer();
+            layer.setQuantityRemaining(layer.getQuantityRemaining() + returned);
+            BigDecimal cost = layer.getUnitCost().multiply(BigDecimal.valueOf(returned));
+            itemCost.setFifoValue(itemCost.getFifoValue().add(cost).setScale(VALUE_SCALE, RoundingMode.HALF_UP));
+            restored = restored.add(cost);
+            if (returned == c.getQuantity()) {
+                costEntryLayerRepository.delete(c);
+            } else {
+                c.setQuantity(c.getQuantity() - returned);
+            }
+            remaining -= returned;
+        }
+        return restored.setScale(VALUE_SCALE, RoundingMode.HALF_UP);
+    }
+}
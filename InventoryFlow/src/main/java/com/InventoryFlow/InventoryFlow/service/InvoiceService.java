@@ -1,6 +1,8 @@
 package com.InventoryFlow.InventoryFlow.service;
 
 import com.InventoryFlow.InventoryFlow.dto.InvoiceDTO;
+import com.InventoryFlow.InventoryFlow.dto.PageQuery;
+import com.InventoryFlow.InventoryFlow.dto.PageResponse;
 import com.InventoryFlow.InventoryFlow.entity.Invoice;
 import com.InventoryFlow.InventoryFlow.entity.SalesOrder;
 import com.InventoryFlow.InventoryFlow.entity.User;
@@ -13,7 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -21,15 +23,35 @@ import java.util.stream.Collectors;
 @Transactional
 public class InvoiceService {
 
+    private static final KeysetPager<Invoice> PAGER = new KeysetPager<Invoice>()
+            .sortable("invoiceNumber", "invoiceNumber", String.class)
+            .sortable("invoiceDate", "invoiceDate", LocalDate.class)
+            .sortable("dueDate", "dueDate", LocalDate.class)
+            .sortable("totalAmount", "totalAmount", BigDecimal.class)
+            .filterable("invoiceNumber", "invoiceNumber", String.class)
+            .filterable("paymentStatus", "paymentStatus", Invoice.PaymentStatus.class)
+            .filterable("salesOrderId", "salesOrder.id", Long.class)
+            .filterable("invoiceDate", "invoiceDate", LocalDate.class)
+            .fetch("salesOrder", "createdBy");
+
     @Autowired
     private InvoiceRepository invoiceRepository;
 
+    @Autowired
+    private DocumentNumberAllocator documentNumberAllocator;
+
     @Autowired
     private SalesOrderRepository soRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private DocumentSearchIndex documentSearchIndex;
+
+    @Autowired
+    private ReportDataVersion reportDataVersion;
+
     public InvoiceDTO createInvoiceFromSO(Long soId, InvoiceDTO invoiceDTO) {
         SalesOrder so = soRepository.findById(soId)
                 .orElseThrow(() -> new RuntimeException("Sales Order not found"));
@@ -56,8 +78,12 @@ public class InvoiceService {
         // Update SO status to INVOICED
         so.setStatus(SalesOrder.SOStatus.INVOICED);
         soRepository.save(so);
+        documentSearchIndex.salesOrderChanged(so);
 
         Invoice saved = invoiceRepository.save(invoice);
+        documentSearchIndex.invoiceChanged(saved);
+        // Sales and profit reports count INVOICED orders only
+        reportDataVersion.changed();
         return convertToDTO(saved);
     }
 
@@ -66,6 +92,7 @@ public class InvoiceService {
                 .orElseThrow(() -> new RuntimeException("Invoice not found"));
         invoice.setPaymentStatus(Invoice.PaymentStatus.valueOf(paymentStatus));
         Invoice saved = invoiceRepository.save(invoice);
+        documentSearchIndex.invoiceChanged(saved);
         return convertToDTO(saved);
     }
 
@@ -75,6 +102,10 @@ public class InvoiceService {
                 .collect(Collectors.toList());
     }
 
+    public PageResponse<InvoiceDTO> getInvoicesPage(PageQuery query) {
+        return PAGER.page(invoiceRepository, query, this::convertToDTO);
+    }
+
     public InvoiceDTO getInvoiceById(Long id) {
         Invoice invoice = invoiceRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Invoice not found"));
@@ -82,10 +113,7 @@ public class InvoiceService {
     }
 
     private String generateInvoiceNumber() {
-        String prefix = "INV";
-        String dateStr = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        long count = invoiceRepository.count();
-        return String.format("%s-%s-%05d", prefix, dateStr, count + 1);
+        return documentNumberAllocator.nextNumber("INV");
     }
 
     private InvoiceDTO convertToDTO(Invoice invoice) {
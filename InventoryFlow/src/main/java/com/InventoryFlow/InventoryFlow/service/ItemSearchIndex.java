@@ -0,0 +1,169 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import com.InventoryFlow.InventoryFlow.dto.ItemSearchResultDTO;
+import com.InventoryFlow.InventoryFlow.entity.Item;
+import com.InventoryFlow.InventoryFlow.repository.ItemRepository;
+import com.InventoryFlow.InventoryFlow.util.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Typeahead index over item name, SKU and category name. Candidates come from
+ * a {@link TextIndex} and are ranked against the stored entry. Built at startup
+ * and updated after commit by item and category changes.
+ */
+@Component
+public class ItemSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ItemSearchIndex.class);
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final TextIndex<Long> index = new TextIndex<>();
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void build() {
+        long start = System.currentTimeMillis();
+        entries.clear();
+        index.clear();
+        for (Item item : itemRepository.findAll()) {
+            put(Entry.of(item));
+        }
+        ready = true;
+        log.info("Item search index built: {} items, {} grams in {} ms",
+                entries.size(), index.gramCount(), System.currentTimeMillis() - start);
+    }
+
+    public List<ItemSearchResultDTO> search(String query, Integer limit) {
+        int max = limit != null ? limit : DEFAULT_LIMIT;
+        if (max < 1 || max > MAX_LIMIT) {
+            throw new RuntimeException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        List<String> terms = TextIndex.tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        if (!ready) {
+            build();
+        }
+
+        String whole = String.join("", terms);
+        List<Hit> hits = new ArrayList<>();
+        for (Long id : index.find(terms)) {
+            Entry entry = entries.get(id);
+            int score = entry != null ? entry.score(terms, whole) : 0;
+            if (score > 0) {
+                hits.add(new Hit(entry, score));
+            }
+        }
+        return hits.stream()
+                .sorted(Comparator.comparingInt(Hit::score).reversed()
+                        .thenComparing(hit -> !hit.entry().active())
+                        .thenComparing(hit -> hit.entry().name())
+                        .thenComparing(hit -> hit.entry().id()))
+                .limit(max)
+                .map(hit -> hit.entry().toDTO())
+                .collect(Collectors.toList());
+    }
+
+    // Called inside the item transaction; applied only once it commits
+    public void itemChanged(Item item) {
+        Entry changed = Entry.of(item);
+        AfterCommit.run(() -> put(changed));
+    }
+
+    public void categoryChanged(Long categoryId, String categoryName) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                entries.values().stream()
+                        .filter(entry -> entry.categoryId().equals(categoryId))
+                        .map(entry -> entry.withCategoryName(categoryName))
+                        .toList()
+                        .forEach(this::put);
+            }
+        });
+    }
+
+    private synchronized void put(Entry entry) {
+        Entry previous = entries.put(entry.id(), entry);
+        if (previous != null) {
+            index.remove(previous.id(), previous.words());
+        }
+        index.add(entry.id(), entry.words());
+    }
+
+    private record Hit(Entry entry, int score) {
+    }
+
+    private record Entry(Long id, String name, String sku, Long categoryId, String categoryName, String unit,
+                         BigDecimal costPrice, BigDecimal sellingPrice, boolean active,
+                         List<String> nameWords, List<String> skuWords, List<String> categoryWords) {
+
+        static Entry of(Item item) {
+            return new Entry(item.getId(), item.getName(), item.getSku(), item.getCategory().getId(),
+                    item.getCategory().getName(), item.getUnit(), item.getCostPrice(), item.getSellingPrice(),
+                    item.getActive() != null && item.getActive() == 1,
+                    TextIndex.tokenize(item.getName()), TextIndex.tokenize(item.getSku()),
+                    TextIndex.tokenize(item.getCategory().getName()));
+        }
+
+        Entry withCategoryName(String newName) {
+            return new Entry(id, name, sku, categoryId, newName, unit, costPrice, sellingPrice, active,
+                    nameWords, skuWords, TextIndex.tokenize(newName));
+        }
+
+        // The SKU is also indexed without separators so "ab100" finds "AB-100"
+        Set<String> words() {
+            Set<String> all = new HashSet<>(nameWords);
+            all.addAll(skuWords);
+            all.add(skuKey());
+            all.addAll(categoryWords);
+            all.remove("");
+            return all;
+        }
+
+        String skuKey() {
+            return String.join("", skuWords);
+        }
+
+        // Zero when some term matches nowhere, so trigram false positives drop out
+        int score(List<String> terms, String whole) {
+            String skuKey = skuKey();
+            int score = skuKey.equals(whole) ? 100 : 0;
+            for (String term : terms) {
+                int best = 0;
+                if (skuKey.startsWith(term)) best = 60;
+                else if (!nameWords.isEmpty() && nameWords.get(0).startsWith(term)) best = 50;
+                else if (TextIndex.startsAny(nameWords, term)) best = 40;
+                else if (TextIndex.containsAny(nameWords, term) || skuKey.contains(term)) best = 20;
+                else if (TextIndex.startsAny(categoryWords, term)) best = 10;
+                else if (TextIndex.containsAny(categoryWords, term)) best = 5;
+                if (best == 0) {
+                    return 0;
+                }
+                score += best;
+            }
+            return score;
+        }
+
+        ItemSearchResultDTO toDTO() {
+            return new ItemSearchResultDTO(id, name, sku, categoryId, categoryName, unit,
+                    costPrice, sellingPrice, active ? 1 : 0);
+        }
+    }
+}
@@ -1,16 +1,20 @@
 package com.InventoryFlow.InventoryFlow.service;
 
 import com.InventoryFlow.InventoryFlow.dto.ItemDTO;
+import com.InventoryFlow.InventoryFlow.dto.ItemSearchResultDTO;
+import com.InventoryFlow.InventoryFlow.dto.PageQuery;
+import com.InventoryFlow.InventoryFlow.dto.PageResponse;
 import com.InventoryFlow.InventoryFlow.entity.Category;
 import com.InventoryFlow.InventoryFlow.entity.Item;
 import com.InventoryFlow.InventoryFlow.entity.Stock;
-import com.InventoryFlow.InventoryFlow.repository.CategoryRepository;
 import com.InventoryFlow.InventoryFlow.repository.ItemRepository;
 import com.InventoryFlow.InventoryFlow.repository.StockRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,21 +22,43 @@ import java.util.stream.Collectors;
 @Transactional
 public class ItemService {
 
+    private static final KeysetPager<Item> PAGER = new KeysetPager<Item>()
+            .sortable("name", "name", String.class)
+            .sortable("sku", "sku", String.class)
+            .sortable("createdAt", "createdAt", LocalDateTime.class)
+            .filterable("name", "name", String.class)
+            .filterable("sku", "sku", String.class)
+            .filterable("categoryId", "category.id", Long.class)
+            .filterable("active", "active", Integer.class)
+            .fetch("category");
+
     @Autowired
     private ItemRepository itemRepository;
 
     @Autowired
-    private CategoryRepository categoryRepository;
+    private StockRepository stockRepository;
 
     @Autowired
-    private StockRepository stockRepository;
+    private LowStockIndex lowStockIndex;
+
+    @Autowired
+    private ReportDataVersion reportDataVersion;
+
+    @Autowired
+    private InventoryCostingService inventoryCostingService;
+
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
 
     public ItemDTO createItem(ItemDTO itemDTO) {
         if (itemRepository.existsBySku(itemDTO.getSku())) {
             throw new RuntimeException("SKU already exists");
         }
 
-        Category category = categoryRepository.findById(itemDTO.getCategoryId())
+        Category category = referenceDataCache.findCategory(itemDTO.getCategoryId())
                 .orElseThrow(() -> new RuntimeException("Category not found"));
 
         // Validate that category is active
@@ -57,6 +83,11 @@ public class ItemService {
         stock.setItem(saved);
         stock.setQuantityOnHand(0);
         stockRepository.save(stock);
+        inventoryCostingService.createItemCost(saved);
+        lowStockIndex.itemChanged(saved);
+        itemSearchIndex.itemChanged(saved);
+        referenceDataCache.itemChanged(saved.getId());
+        reportDataVersion.changed();
 
         return convertToDTO(saved);
     }
@@ -67,6 +98,16 @@ public class ItemService {
                 .collect(Collectors.toList());
     }
 
+    public PageResponse<ItemDTO> getItemsPage(PageQuery query) {
+        return PAGER.page(itemRepository, query, this::convertToDTO);
+    }
+
+    // Answered from memory, so no transaction or connection is needed
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ItemSearchResultDTO> searchItems(String query, Integer limit) {
+        return itemSearchIndex.search(query, limit);
+    }
+
     public List<ItemDTO> getActiveItems() {
         return itemRepository.findByActive(1).stream()
                 .map(this::convertToDTO)
@@ -80,7 +121,7 @@ public class ItemService {
     }
 
     public ItemDTO getItemById(Long id) {
-        Item item = itemRepository.findById(id)
+        Item item = referenceDataCache.findItem(id)
                 .orElseThrow(() -> new RuntimeException("Item not found"));
         return convertToDTO(item);
     }
@@ -94,7 +135,7 @@ public class ItemService {
             throw new RuntimeException("SKU already exists");
         }
 
-        Category category = categoryRepository.findById(itemDTO.getCategoryId())
+        Category category = referenceDataCache.findCategory(itemDTO.getCategoryId())
                 .orElseThrow(() -> new RuntimeException("Category not found"));
 
         // Validate that category is active
@@ -112,6 +153,11 @@ public class ItemService {
         item.setActive(itemDTO.getActive() != null && itemDTO.getActive() == 1 ? 1 : 0);
 
         Item updated = itemRepository.save(item);
+        reportDataVersion.changed();
+        // Reorder level, active flag or naming may have changed
+        lowStockIndex.itemChanged(updated);
+        itemSearchIndex.itemChanged(updated);
+        referenceDataCache.itemChanged(updated.getId());
         return convertToDTO(updated);
     }
 
@@ -0,0 +1,227 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import com.InventoryFlow.InventoryFlow.dto.PageQuery;
+import com.InventoryFlow.InventoryFlow.dto.PageResponse;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Keyset (seek) paging for list endpoints. A page is read as
+ * {@code WHERE (sortKey, id) > (lastSortKey, lastId) ORDER BY sortKey, id LIMIT n + 1},
+ * so every page costs the same however deep it is and no count query is run;
+ * the extra row only tells whether there is a next page. The cursor carries the
+ * sort field and direction, a hash of the filter and the last row's key, and is
+ * only accepted back with the same sort and filter.
+ */
+public class KeysetPager<E> {
+
+    private static final int DEFAULT_LIMIT = 50;
+    private static final int MAX_LIMIT = 500;
+
+    private record Field(String path, Class<?> type) {
+    }
+
+    private record Cursor(Object value, Long id) {
+    }
+
+    private final Map<String, Field> sortFields = new LinkedHashMap<>();
+    private final Map<String, Field> filterFields = new LinkedHashMap<>();
+    private final List<String> fetchPaths = new ArrayList<>();
+
+    public KeysetPager() {
+        sortFields.put("id", new Field("id", Long.class));
+    }
+
+    // Sort columns must be non-null and should be indexed together with id
+    public KeysetPager<E> sortable(String name, String path, Class<?> type) {
+        sortFields.put(name, new Field(path, type));
+        return this;
+    }
+
+    // String filters match by prefix, everything else by equality
+    public KeysetPager<E> filterable(String name, String path, Class<?> type) {
+        filterFields.put(name, new Field(path, type));
+        return this;
+    }
+
+    // To-one associations the mapper reads, loaded with the page instead of one query per row
+    public KeysetPager<E> fetch(String... paths) {
+        fetchPaths.addAll(Arrays.asList(paths));
+        return this;
+    }
+
+    public <D> PageResponse<D> page(JpaSpecificationExecutor<E> repository, PageQuery query, Function<E, D> mapper) {
+        return pageAll(repository, query, rows -> rows.stream().map(mapper).toList());
+    }
+
+    // Maps the whole page at once so callers can load extra data in a single query
+    public <D> PageResponse<D> pageAll(JpaSpecificationExecutor<E> repository, PageQuery query, Function<List<E>, List<D>> mapper) {
+        int limit = query.getLimit() != null ? query.getLimit() : DEFAULT_LIMIT;
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new RuntimeException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        // Default order is newest first
+        String sortName = "id";
+        boolean ascending = false;
+        if (query.getSort() != null && !query.getSort().isBlank()) {
+            String[] parts = query.getSort().split(",");
+            sortName = parts[0].trim();
+            ascending = parts.length < 2 || !parts[1].trim().equalsIgnoreCase("desc");
+        }
+        Field sortField = sortFields.get(sortName);
+        if (sortField == null) {
+            throw new RuntimeException("Cannot sort by " + sortName + ". Valid sort fields are: " + String.join(", ", sortFields.keySet()));
+        }
+
+        String sortKey = sortName + (ascending ? ",asc" : ",desc");
+        String filterKey = filterKey(query.getFilter());
+        Specification<E> spec = filterSpec(query.getFilter());
+        if (query.getAfter() != null && !query.getAfter().isBlank()) {
+            Cursor cursor = decodeCursor(query.getAfter(), sortKey, filterKey, sortField);
+            spec = spec.and(seekSpec(sortField, ascending, cursor));
+        }
+
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = sortField.path().equals("id")
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, sortField.path()).and(Sort.by(direction, "id"));
+
+        List<E> rows = repository.findBy(spec, q -> q.project(fetchPaths).sortBy(sort).limit(limit + 1).all());
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+        String nextCursor = hasMore ? encodeCursor(sortKey, filterKey, sortField, rows.get(rows.size() - 1)) : null;
+        return new PageResponse<>(mapper.apply(rows), hasMore, nextCursor);
+    }
+
+    private Specification<E> filterSpec(String filter) {
+        Specification<E> spec = (root, q, cb) -> cb.conjunction();
+        if (filter == null || filter.isBlank()) {
+            return spec;
+        }
+        for (String term : filter.split(",")) {
+            int colon = term.indexOf(':');
+            if (colon < 1) {
+                throw new RuntimeException("Invalid filter: " + term + ". Use field:value");
+            }
+            String name = term.substring(0, colon).trim();
+            Field field = filterFields.get(name);
+            if (field == null) {
+                throw new RuntimeException("Cannot filter by " + name + ". Valid filter fields are: " + String.join(", ", filterFields.keySet()));
+            }
+            String rawValue = term.substring(colon + 1).trim();
+            if (field.type() == String.class) {
+                String pattern = rawValue.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+                spec = spec.and((root, q, cb) -> cb.like(path(root, field.path()).as(String.class), pattern, '\\'));
+            } else {
+                Object value = parse(rawValue, field.type());
+                spec = spec.and((root, q, cb) -> cb.equal(path(root, field.path()), value));
+            }
+        }
+        return spec;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Specification<E> seekSpec(Field sortField, boolean ascending, Cursor cursor) {
+        return (root, q, cb) -> {
+            Path<Comparable> id = (Path<Comparable>) (Path) root.get("id");
+            if (sortField.path().equals("id")) {
+                return after(cb, id, cursor.id(), ascending);
+            }
+            Path<Comparable> key = (Path<Comparable>) path(root, sortField.path());
+            Comparable value = (Comparable) cursor.value();
+            return cb.or(after(cb, key, value, ascending),
+                    cb.and(cb.equal(key, value), after(cb, id, cursor.id(), ascending)));
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate after(CriteriaBuilder cb, Path<Comparable> path, Comparable value, boolean ascending) {
+        return ascending ? cb.greaterThan(path, value) : cb.lessThan(path, value);
+    }
+
+    // Binds a cursor to its filter without carrying the filter values in it
+    private static String filterKey(String filter) {
+        return Integer.toHexString(filter == null ? 0 : filter.trim().hashCode());
+    }
+
+    private String encodeCursor(String sortKey, String filterKey, Field sortField, E last) {
+        Object id = readPath(last, "id");
+        Object value = sortField.path().equals("id") ? id : readPath(last, sortField.path());
+        String raw = sortKey + "|" + filterKey + "|" + id + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Cursor decodeCursor(String token, String sortKey, String filterKey, Field sortField) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 4);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+        if (parts.length != 4 || !parts[0].equals(sortKey)) {
+            throw new RuntimeException("Cursor does not match the requested sort");
+        }
+        if (!parts[1].equals(filterKey)) {
+            throw new RuntimeException("Cursor does not match the requested filter");
+        }
+        try {
+            return new Cursor(parse(parts[3], sortField.type()), Long.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    private static Path<?> path(Root<?> root, String dottedPath) {
+        Path<?> path = root;
+        for (String part : dottedPath.split("\\.")) {
+            path = path.get(part);
+        }
+        return path;
+    }
+
+    // Walks getters, e.g. "item.name" -> getItem().getName()
+    private static Object readPath(Object bean, String dottedPath) {
+        Object current = bean;
+        for (String part : dottedPath.split("\\.")) {
+            try {
+                current = current.getClass()
+                        .getMethod("get" + Character.toUpperCase(part.charAt(0)) + part.substring(1))
+                        .invoke(current);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot read " + dottedPath, e);
+            }
+        }
+        return current;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object parse(String value, Class<?> type) {
+        try {
+            if (type == String.class) return value;
+            if (type == Long.class) return Long.valueOf(value);
+            if (type == Integer.class) return Integer.valueOf(value);
+            if (type == BigDecimal.class) return new BigDecimal(value);
+            if (type == LocalDate.class) return LocalDate.parse(value);
+            if (type == LocalDateTime.class) return LocalDateTime.parse(value);
+            if (type.isEnum()) return Enum.valueOf((Class<Enum>) type, value.toUpperCase());
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid value: " + value);
+        }
+        throw new IllegalArgumentException("Unsupported key type " + type.getSimpleName());
+    }
+}
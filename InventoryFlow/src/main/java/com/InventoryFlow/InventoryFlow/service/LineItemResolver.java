@@ -0,0 +1,68 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import com.InventoryFlow.InventoryFlow.entity.Item;
+import com.InventoryFlow.InventoryFlow.repository.StockRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+// Resolves the items of SO/PO/GRN/GIN lines from the reference cache (misses in one IN query) and validates them in memory
+@Service
+@Transactional
+public class LineItemResolver {
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    // Every missing or inactive item is reported in a single exception
+    public Map<Long, Item> resolveActiveItems(Collection<Long> itemIds, String documentName) {
+        Set<Long> ids = new LinkedHashSet<>(itemIds);
+        Map<Long, Item> items = referenceDataCache.findItems(ids);
+
+        List<String> errors = new ArrayList<>();
+        List<Long> missing = ids.stream()
+                .filter(id -> !items.containsKey(id))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            errors.add("Item not found: " + missing.stream().map(String::valueOf).collect(Collectors.joining(", ")));
+        }
+        for (Long id : ids) {
+            Item item = items.get(id);
+            if (item != null && (item.getActive() == null || item.getActive() != 1)) {
+                errors.add("Item '" + item.getName() + "' is inactive and cannot be used in " + documentName);
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new RuntimeException(String.join("; ", errors));
+        }
+        return items;
+    }
+
+    // Early, complete error report only - the real guard is the conditional update in StockService.issueStock
+    public void checkStockAvailable(Map<Long, Integer> requiredByItem, Map<Long, Item> items) {
+        Map<Long, Integer> onHand = new HashMap<>();
+        for (Object[] row : stockRepository.findQuantitiesByItemIds(requiredByItem.keySet())) {
+            onHand.put((Long) row[0], (Integer) row[1]);
+        }
+
+        List<String> errors = new ArrayList<>();
+        requiredByItem.forEach((itemId, required) -> {
+            Integer available = onHand.get(itemId);
+            String name = items.get(itemId).getName();
+            if (available == null) {
+                errors.add("Stock not found for item: " + name);
+            } else if (available < required) {
+                errors.add("Insufficient stock for item: " + name);
+            }
+        });
+        if (!errors.isEmpty()) {
+            throw new RuntimeException(String.join("; ", errors));
+        }
+    }
+}
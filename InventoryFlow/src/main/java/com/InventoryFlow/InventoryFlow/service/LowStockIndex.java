@@ -0,0 +1,167 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import com.InventoryFlow.InventoryFlow.dto.LowStockItemDTO;
+import com.InventoryFlow.InventoryFlow.entity.Item;
+import com.InventoryFlow.InventoryFlow.repository.ItemRepository;
+import com.InventoryFlow.InventoryFlow.repository.StockRepository;
+import com.InventoryFlow.InventoryFlow.util.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory low-stock list kept sorted by shortfall ratio. Built at startup,
+ * updated after commit by every stock and item mutation, and reconciled
+ * periodically against the database so the dashboard never scans stocks.
+ * <p>
+ * Stock updates carry the quantity and revision of the row as their own
+ * transaction left it, rather than a delta. A load may read a row before or
+ * after a stock move commits, and updates of one row may arrive out of order,
+ * so an entry is only ever replaced by a newer revision of its row.
+ */
+@Component
+public class LowStockIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(LowStockIndex.class);
+
+    private static final Comparator<Entry> SEVERITY = Comparator
+            .comparingDouble(Entry::shortfallRatio).reversed()
+            .thenComparing(Entry::name)
+            .thenComparing(Entry::itemId);
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final NavigableSet<Entry> lowStock = new ConcurrentSkipListSet<>(SEVERITY);
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void build() {
+        merge(Set.of(), loadEntries());
+        ready = true;
+    }
+
+    @Scheduled(fixedDelayString = "${inventoryflow.low-stock.reconcile-interval-ms:300000}",
+               initialDelayString = "${inventoryflow.low-stock.reconcile-interval-ms:300000}")
+    public synchronized void reconcile() {
+        Set<Long> indexed = Set.copyOf(entries.keySet());
+        int diverged = merge(indexed, loadEntries());
+        if (diverged > 0) {
+            log.warn("Low stock index diverged from database for {} items, corrected", diverged);
+        }
+    }
+
+    // Falls back to the database query until the index has been built
+    public List<LowStockItemDTO> getLowStockItems(int limit) {
+        if (!ready) {
+            return itemRepository.findLowStockSummaries(PageRequest.of(0, limit));
+        }
+        return lowStock.stream()
+                .limit(limit)
+                .map(Entry::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    // Called inside the stock transaction after the row was updated; applied only once it commits
+    public void stockChanged(Long itemId) {
+        for (Object[] row : stockRepository.findQuantityAndRevision(itemId)) {
+            int quantity = (Integer) row[0];
+            long revision = (Long) row[1];
+            AfterCommit.run(() -> updateStock(itemId, quantity, revision));
+        }
+    }
+
+    public void itemChanged(Item item) {
+        Entry changed = new Entry(item.getId(), item.getName(), item.getSku(), item.getCategory().getName(),
+                item.getReorderLevel(), item.getActive() != null && item.getActive() == 1, 0, 0);
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                Entry current = entries.get(changed.itemId());
+                put(current != null ? changed.withStock(current.quantity(), current.revision()) : changed);
+            }
+        });
+    }
+
+    private synchronized void updateStock(Long itemId, int quantity, long revision) {
+        Entry current = entries.get(itemId);
+        if (current != null && current.revision() < revision) {
+            put(current.withStock(quantity, revision));
+        }
+    }
+
+    // Loaded rows replace older revisions; entries that were indexed before the load and are
+    // no longer in the database are dropped. Returns the entries that differed at the same revision.
+    private int merge(Set<Long> indexedBeforeLoad, Map<Long, Entry> loaded) {
+        int diverged = 0;
+        for (Entry row : loaded.values()) {
+            Entry current = entries.get(row.itemId());
+            if (current == null || current.revision() < row.revision()) {
+                put(row);
+            } else if (current.revision() == row.revision() && !current.equals(row)) {
+                diverged++;
+                put(row);
+            }
+        }
+        for (Long itemId : indexedBeforeLoad) {
+            if (!loaded.containsKey(itemId)) {
+                diverged++;
+                lowStock.remove(entries.remove(itemId));
+            }
+        }
+        return diverged;
+    }
+
+    private void put(Entry entry) {
+        Entry previous = entries.put(entry.itemId(), entry);
+        if (previous != null) {
+            lowStock.remove(previous);
+        }
+        if (entry.isLow()) {
+            lowStock.add(entry);
+        }
+    }
+
+    private Map<Long, Entry> loadEntries() {
+        Map<Long, Entry> loaded = new HashMap<>();
+        for (Object[] row : stockRepository.findAllStockLevels()) {
+            Entry entry = new Entry((Long) row[0], (String) row[1], (String) row[2], (String) row[3],
+                    (Integer) row[4], Integer.valueOf(1).equals(row[5]), (Integer) row[6], (Long) row[7]);
+            loaded.put(entry.itemId(), entry);
+        }
+        return loaded;
+    }
+
+    private record Entry(Long itemId, String name, String sku, String categoryName,
+                         Integer reorderLevel, boolean active, int quantity, long revision) {
+
+        boolean isLow() {
+            return active && quantity <= reorderLevel;
+        }
+
+        double shortfallRatio() {
+            return (reorderLevel - quantity) / (double) Math.max(reorderLevel, 1);
+        }
+
+        Entry withStock(int newQuantity, long newRevision) {
+            return new Entry(itemId, name, sku, categoryName, reorderLevel, active, newQuantity, newRevision);
+        }
+
+        LowStockItemDTO toDTO() {
+            return new LowStockItemDTO(itemId, name, sku, categoryName, reorderLevel, quantity);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import com.InventoryFlow.InventoryFlow.dto.ProfitCubeRowDTO;
+import com.InventoryFlow.InventoryFlow.repository.CostEntryRepository;
+import com.InventoryFlow.InventoryFlow.repository.SalesOrderLineRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Profit by item, category, customer and month. Invoiced sales lines are loaded
+ * once with their share of the issue cost, partitioned by item and aggregated
+ * on the fork/join pool; each task builds its own accumulator and the results
+ * are merged pairwise, so no cell is ever shared between threads.
+ */
+@Service
+public class ProfitAnalyticsService {
+
+    public enum Dimension { ITEM, CATEGORY, CUSTOMER, MONTH }
+
+    // Item partitions aggregated sequentially by one task before it stops splitting
+    private static final int PARTITIONS_PER_TASK = 64;
+
+    @Autowired
+    private SalesOrderLineRepository salesOrderLineRepository;
+
+    @Autowired
+    private CostEntryRepository costEntryRepository;
+
+    @Autowired
+    private InventoryCostingService inventoryCostingService;
+
+    @Transactional(readOnly = true)
+    public List<ProfitCubeRowDTO> getProfitCube(LocalDate startDate, LocalDate endDate, Set<Dimension> dimensions) {
+        if (startDate.isAfter(endDate)) {
+            throw new RuntimeException("Start date must not be after end date");
+        }
+        List<List<ProfitFact>> partitions = new ArrayList<>(loadFactsByItem(startDate, endDate).values());
+        ProfitAccumulator result = ForkJoinPool.commonPool()
+                .invoke(new AggregateTask(partitions, 0, partitions.size(), dimensions));
+        return result.toRows();
+    }
+
+    // "item,month" -> {ITEM, MONTH}; empty means all dimensions
+    public Set<Dimension> parseDimensions(String groupBy) {
+        if (groupBy == null || groupBy.isBlank()) {
+            return EnumSet.allOf(Dimension.class);
+        }
+        Set<Dimension> dimensions = EnumSet.noneOf(Dimension.class);
+        for (String name : groupBy.split(",")) {
+            try {
+                dimensions.add(Dimension.valueOf(name.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Invalid dimension: " + name.trim() + ". Valid dimensions are: ITEM, CATEGORY, CUSTOMER, MONTH");
+            }
+        }
+        return dimensions;
+    }
+
+    // Revenue is the line total plus its share of the order's tax less discount, so the lines of an
+    // order add up to its total as in the profit report; the issue cost of an order and item is
+    // spread over its lines by quantity
+    private Map<Long, List<ProfitFact>> loadFactsByItem(LocalDate startDate, LocalDate endDate) {
+        boolean fifo = inventoryCostingService.getCostingMethod() == InventoryCostingService.CostingMethod.FIFO;
+        Map<OrderItem, BigDecimal> costs = new HashMap<>();
+        for (Object[] row : costEntryRepository.getCostOfSalesByOrderAndItem(startDate, endDate)) {
+            costs.put(new OrderItem((Long) row[0], (Long) row[1]), (BigDecimal) (fifo ? row[2] : row[3]));
+        }
+
+        List<Object[]> lines;
+        try (Stream<Object[]> rows = salesOrderLineRepository.streamInvoicedLines(startDate, endDate)) {
+            lines = rows.collect(Collectors.toList());
+        }
+        Map<OrderItem, Integer> quantities = new HashMap<>();
+        Map<Long, List<Object[]>> linesByOrder = new LinkedHashMap<>();
+        for (Object[] line : lines) {
+            quantities.merge(new OrderItem((Long) line[0], (Long) line[1]), (Integer) line[7], Integer::sum);
+            linesByOrder.computeIfAbsent((Long) line[0], id -> new ArrayList<>()).add(line);
+        }
+        Map<Object[], BigDecimal> revenues = new IdentityHashMap<>();
+        linesByOrder.values().forEach(orderLines -> allocateOrderTotal(orderLines, revenues));
+
+        Map<Long, List<ProfitFact>> factsByItem = new HashMap<>();
+        for (Object[] line : lines) {
+            OrderItem orderItem = new OrderItem((Long) line[0], (Long) line[1]);
+            int quantity = (Integer) line[7];
+            BigDecimal cost = costs.getOrDefault(orderItem, BigDecimal.ZERO);
+            int orderQuantity = quantities.get(orderItem);
+            if (orderQuantity != quantity && orderQuantity != 0) {
+                cost = cost.multiply(BigDecimal.valueOf(quantity))
+                        .divide(BigDecimal.valueOf(orderQuantity), 4, RoundingMode.HALF_UP);
+            }
+            ProfitFact fact = new ProfitFact(orderItem.itemId(), (String) line[2], (String) line[3], (String) line[4],
+                    (String) line[5], YearMonth.from((LocalDate) line[6]), quantity, revenues.get(line), cost);
+            factsByItem.computeIfAbsent(fact.itemId(), id -> new ArrayList<>()).add(fact);
+        }
+        return factsByItem;
+    }
+
+    // Spreads total - subtotal over the lines by line total (evenly when the subtotal is zero);
+    // the last line takes the rounding remainder so the order adds up exactly
+    private void allocateOrderTotal(List<Object[]> orderLines, Map<Object[], BigDecimal> revenues) {
+        BigDecimal subtotal = orderLines.stream()
+                .map(line -> (BigDecimal) line[8])
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal total = (BigDecimal) orderLines.get(0)[9];
+        BigDecimal adjustment = total.subtract(subtotal);
+        BigDecimal allocated = BigDecimal.ZERO;
+        for (int i = 0; i < orderLines.size(); i++) {
+            Object[] line = orderLines.get(i);
+            BigDecimal share;
+            if (i == orderLines.size() - 1) {
+                share = adjustment.subtract(allocated);
+            } else if (subtotal.signum() == 0) {
+                share = adjustment.divide(BigDecimal.valueOf(orderLines.size()), 4, RoundingMode.HALF_UP);
+            } else {
+                share = adjustment.multiply((BigDecimal) line[8]).divide(subtotal, 4, RoundingMode.HALF_UP);
+            }
+            allocated = allocated.add(share);
+            revenues.put(line, ((BigDecimal) line[8]).add(share));
+        }
+    }
+
+    private record OrderItem(Long orderId, Long itemId) {
+    }
+
+    private record ProfitFact(Long itemId, String itemName, String itemSku, String categoryName,
+                              String customerName, YearMonth month, int quantity,
+                              BigDecimal revenue, BigDecimal cost) {
+    }
+
+    private record CellKey(Long itemId, String categoryName, String customerName, YearMonth month) {
+    }
+
+    private static class AggregateTask extends RecursiveTask<ProfitAccumulator> {
+        private final List<List<ProfitFact>> partitions;
+        private final int from;
+        private final int to;
+        private final Set<Dimension> dimensions;
+
+        AggregateTask(List<List<ProfitFact>> partitions, int from, int to, Set<Dimension> dimensions) {
+            this.partitions = partitions;
+            this.from = from;
+            this.to = to;
+            this.dimensions = dimensions;
+        }
+
+        @Override
+        protected ProfitAccumulator compute() {
+            if (to - from <= PARTITIONS_PER_TASK) {
+                ProfitAccumulator accumulator = new ProfitAccumulator(dimensions);
+                for (int i = from; i < to; i++) {
+                    partitions.get(i).forEach(accumulator::add);
+                }
+                return accumulator;
+            }
+            int middle = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(partitions, from, middle, dimensions);
+            left.fork();
+            ProfitAccumulator right = new AggregateTask(partitions, middle, to, dimensions).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    private static class ProfitAccumulator {
+        private final Set<Dimension> dimensions;
+        private final Map<CellKey, Cell> cells = new HashMap<>();
+
+        ProfitAccumulator(Set<Dimension> dimensions) {
+            this.dimensions = dimensions;
+        }
+
+        void add(ProfitFact fact) {
+            CellKey key = new CellKey(
+                    dimensions.contains(Dimension.ITEM) ? fact.itemId() : null,
+                    dimensions.contains(Dimension.CATEGORY) ? fact.categoryName() : null,
+                    dimensions.contains(Dimension.CUSTOMER) ? fact.customerName() : null,
+                    dimensions.contains(Dimension.MONTH) ? fact.month() : null);
+            Cell cell = cells.computeIfAbsent(key, k -> new Cell(
+                    k.itemId() != null ? fact.itemName() : null,
+                    k.itemId() != null ? fact.itemSku() : null));
+            cell.quantity += fact.quantity();
+            cell.revenue = cell.revenue.add(fact.revenue());
+            cell.cost = cell.cost.add(fact.cost());
+        }
+
+        // Merges into the larger map; the other accumulator is discarded afterwards
+        ProfitAccumulator merge(ProfitAccumulator other) {
+            ProfitAccumulator target = cells.size() >= other.cells.size() ? this : other;
+            ProfitAccumulator source = target == this ? other : this;
+            source.cells.forEach((key, cell) -> target.cells.merge(key, cell, Cell::combine));
+            return target;
+        }
+
+        List<ProfitCubeRowDTO> toRows() {
+            return cells.entrySet().stream()
+                    .map(entry -> entry.getValue().toDTO(entry.getKey()))
+                    .sorted(Comparator.comparing(ProfitCubeRowDTO::getProfit).reversed()
+                            .thenComparing(ProfitCubeRowDTO::getRevenue, Comparator.reverseOrder()))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static class Cell {
+        private final String itemName;
+        private final String itemSku;
+        private long quantity;
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private BigDecimal cost = BigDecimal.ZERO;
+
+        Cell(String itemName, String itemSku) {
+            this.itemName = itemName;
+            this.itemSku = itemSku;
+        }
+
+        Cell combine(Cell other) {
+            quantity += other.quantity;
+            revenue = revenue.add(other.revenue);
+            cost = cost.add(other.cost);
+            return this;
+        }
+
+        ProfitCubeRowDTO toDTO(CellKey key) {
+            BigDecimal roundedRevenue = revenue.setScale(2, RoundingMode.HALF_UP);
+            BigDecimal roundedCost = cost.setScale(2, RoundingMode.HALF_UP);
+            BigDecimal profit = roundedRevenue.subtract(roundedCost);
+            BigDecimal margin = roundedRevenue.signum() == 0 ? null
+                    : profit.multiply(BigDecimal.valueOf(100)).divide(roundedRevenue, 2, RoundingMode.HALF_UP);
+            return new ProfitCubeRowDTO(key.itemId(), itemName, itemSku, key.categoryName(), key.customerName(),
+                    key.month() != null ? key.month().toString() : null,
+                    quantity, roundedRevenue, roundedCost, profit, margin);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.InventoryFlow.InventoryFlow.service;
 
+import com.InventoryFlow.InventoryFlow.dto.PageQuery;
+import com.InventoryFlow.InventoryFlow.dto.PageResponse;
+import com.InventoryFlow.InventoryFlow.dto.PurchaseOrderSummaryDTO;
 import com.InventoryFlow.InventoryFlow.dto.PurchaseOrderDTO;
 import com.InventoryFlow.InventoryFlow.dto.PurchaseOrderLineDTO;
 import com.InventoryFlow.InventoryFlow.entity.*;
@@ -10,28 +13,48 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class PurchaseOrderService {
 
+    private static final KeysetPager<PurchaseOrder> PAGER = new KeysetPager<PurchaseOrder>()
+            .sortable("poNumber", "poNumber", String.class)
+            .sortable("orderDate", "orderDate", LocalDate.class)
+            .sortable("createdAt", "createdAt", LocalDateTime.class)
+            .filterable("poNumber", "poNumber", String.class)
+            .filterable("status", "status", PurchaseOrder.POStatus.class)
+            .filterable("supplierId", "supplier.id", Long.class)
+            .filterable("orderDate", "orderDate", LocalDate.class);
+
     @Autowired
     private PurchaseOrderRepository poRepository;
 
     @Autowired
-    private SupplierRepository supplierRepository;
+    private DocumentNumberAllocator documentNumberAllocator;
 
     @Autowired
-    private ItemRepository itemRepository;
+    private LineItemResolver lineItemResolver;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ReportDataVersion reportDataVersion;
+
+    @Autowired
+    private DocumentSearchIndex documentSearchIndex;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     public PurchaseOrderDTO createPO(PurchaseOrderDTO poDTO) {
-        Supplier supplier = supplierRepository.findById(poDTO.getSupplierId())
+        Supplier supplier = referenceDataCache.findSupplier(poDTO.getSupplierId())
                 .orElseThrow(() -> new RuntimeException("Supplier not found"));
 
         // Validate that supplier is active
@@ -51,14 +74,12 @@ public class PurchaseOrderService {
         po.setRemarks(poDTO.getRemarks());
         po.setCreatedBy(createdBy);
 
-        for (PurchaseOrderLineDTO lineDTO : poDTO.getOrderLines()) {
-            Item item = itemRepository.findById(lineDTO.getItemId())
-                    .orElseThrow(() -> new RuntimeException("Item not found: " + lineDTO.getItemId()));
+        Map<Long, Item> items = lineItemResolver.resolveActiveItems(
+                poDTO.getOrderLines().stream().map(PurchaseOrderLineDTO::getItemId).collect(Collectors.toList()),
+                "Purchase Orders");
 
-            // Validate that item is active
-            if (item.getActive() == null || item.getActive() != 1) {
-                throw new RuntimeException("Item '" + item.getName() + "' is inactive and cannot be used in Purchase Orders");
-            }
+        for (PurchaseOrderLineDTO lineDTO : poDTO.getOrderLines()) {
+            Item item = items.get(lineDTO.getItemId());
 
             PurchaseOrderLine line = new PurchaseOrderLine();
             line.setPurchaseOrder(po);
@@ -70,6 +91,8 @@ public class PurchaseOrderService {
         }
 
         PurchaseOrder saved = poRepository.save(po);
+        documentSearchIndex.purchaseOrderChanged(saved);
+        reportDataVersion.changed();
         return convertToDTO(saved);
     }
 
@@ -90,6 +113,8 @@ public class PurchaseOrderService {
         po.setApprovedBy(approvedBy);
 
         PurchaseOrder saved = poRepository.save(po);
+        documentSearchIndex.purchaseOrderChanged(saved);
+        reportDataVersion.changed();
         return convertToDTO(saved);
     }
 
@@ -110,6 +135,8 @@ public class PurchaseOrderService {
         po.setApprovedBy(rejectedBy); // Using approvedBy field to track who rejected
 
         PurchaseOrder saved = poRepository.save(po);
+        documentSearchIndex.purchaseOrderChanged(saved);
+        reportDataVersion.changed();
         return convertToDTO(saved);
     }
 
@@ -123,7 +150,7 @@ public class PurchaseOrderService {
             throw new RuntimeException("PO must be in DRAFT or PENDING_APPROVAL status to update");
         }
 
-        Supplier supplier = supplierRepository.findById(poDTO.getSupplierId())
+        Supplier supplier = referenceDataCache.findSupplier(poDTO.getSupplierId())
                 .orElseThrow(() -> new RuntimeException("Supplier not found"));
 
         // Validate that supplier is active
@@ -141,14 +168,12 @@ public class PurchaseOrderService {
         po.setRemarks(poDTO.getRemarks());
 
         // Add new lines
-        for (PurchaseOrderLineDTO lineDTO : poDTO.getOrderLines()) {
-            Item item = itemRepository.findById(lineDTO.getItemId())
-                    .orElseThrow(() -> new RuntimeException("Item not found: " + lineDTO.getItemId()));
+        Map<Long, Item> items = lineItemResolver.resolveActiveItems(
+                poDTO.getOrderLines().stream().map(PurchaseOrderLineDTO::getItemId).collect(Collectors.toList()),
+                "Purchase Orders");
 
-            // Validate that item is active
-            if (item.getActive() == null || item.getActive() != 1) {
-                throw new RuntimeException("Item '" + item.getName() + "' is inactive and cannot be used in Purchase Orders");
-            }
+        for (PurchaseOrderLineDTO lineDTO : poDTO.getOrderLines()) {
+            Item item = items.get(lineDTO.getItemId());
 
             PurchaseOrderLine line = new PurchaseOrderLine();
             line.setPurchaseOrder(po);
@@ -160,13 +185,17 @@ public class PurchaseOrderService {
         }
 
         PurchaseOrder saved = poRepository.save(po);
+        documentSearchIndex.purchaseOrderChanged(saved);
+        reportDataVersion.changed();
         return convertToDTO(saved);
     }
 
-    public List<PurchaseOrderDTO> getAllPOs() {
-        return poRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public List<PurchaseOrderSummaryDTO> getAllPOs() {
+        return poRepository.findAllSummaries();
+    }
+
+    public PageResponse<PurchaseOrderSummaryDTO> getPOsPage(PageQuery query) {
+        return PAGER.pageAll(poRepository, query, this::toSummaries);
     }
 
     public PurchaseOrderDTO getPOById(Long id) {
@@ -176,10 +205,14 @@ public class PurchaseOrderService {
     }
 
     private String generatePONumber() {
-        String prefix = "PO";
-        String dateStr = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        long count = poRepository.count();
-        return String.format("%s-%s-%05d", prefix, dateStr, count + 1);
+        return documentNumberAllocator.nextNumber("PO");
+    }
+
+    // Summaries come back grouped, so put them back in page order
+    private List<PurchaseOrderSummaryDTO> toSummaries(List<PurchaseOrder> page) {
+        Map<Long, PurchaseOrderSummaryDTO> byId = poRepository.findSummariesByIdIn(page.stream().map(PurchaseOrder::getId).toList()).stream()
+                .collect(Collectors.toMap(PurchaseOrderSummaryDTO::getId, Function.identity()));
+        return page.stream().map(row -> byId.get(row.getId())).toList();
     }
 
     private PurchaseOrderDTO convertToDTO(PurchaseOrder po) {
@@ -0,0 +1,124 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import com.InventoryFlow.InventoryFlow.dto.CacheStatsDTO;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bounded in-process cache: least recently used entries are evicted past
+ * {@code maxSize} and entries older than the TTL are reloaded. Loaders run
+ * outside the lock; a load that overlaps an invalidation is returned to its
+ * caller but not stored, so a stale read can never outlive a write.
+ */
+public class ReferenceCache<K, V> {
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    public ReferenceCache(String name, int maxSize, long ttlMillis) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+    }
+
+    public Optional<V> get(K key, Function<K, Optional<V>> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            V cached = lookup(key);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+            loadGeneration = generation;
+        }
+        Optional<V> loaded = loader.apply(key);
+        loaded.ifPresent(value -> store(Map.of(key, value), loadGeneration));
+        return loaded;
+    }
+
+    // Misses are loaded together, e.g. with one IN query; keys the loader does not return are absent
+    public Map<K, V> getAll(Collection<K> keys, Function<Set<K>, Map<K, V>> loader) {
+        Map<K, V> result = new LinkedHashMap<>();
+        Set<K> missing = new LinkedHashSet<>();
+        long loadGeneration;
+        synchronized (this) {
+            for (K key : keys) {
+                V cached = lookup(key);
+                if (cached != null) {
+                    result.put(key, cached);
+                } else {
+                    missing.add(key);
+                }
+            }
+            loadGeneration = generation;
+        }
+        if (!missing.isEmpty()) {
+            Map<K, V> loaded = loader.apply(missing);
+            store(loaded, loadGeneration);
+            result.putAll(loaded);
+        }
+        return result;
+    }
+
+    public synchronized void invalidate(K key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateIf(Predicate<K> filter) {
+        generation++;
+        entries.keySet().removeIf(filter);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized CacheStatsDTO stats() {
+        long requests = hits + misses;
+        return new CacheStatsDTO(name, entries.size(), maxSize, ttlNanos / 1_000_000L, hits, misses,
+                evictions, expirations, requests == 0 ? 0.0 : (double) hits / requests);
+    }
+
+    private V lookup(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && System.nanoTime() - entry.loadedAt() > ttlNanos) {
+            entries.remove(key);
+            expirations++;
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value();
+    }
+
+    private synchronized void store(Map<K, V> values, long loadGeneration) {
+        if (loadGeneration != generation) {
+            return;
+        }
+        long now = System.nanoTime();
+        values.forEach((key, value) -> entries.put(key, new Entry<>(value, now)));
+        Iterator<K> eldest = entries.keySet().iterator();
+        while (entries.size() > maxSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions++;
+        }
+    }
+}
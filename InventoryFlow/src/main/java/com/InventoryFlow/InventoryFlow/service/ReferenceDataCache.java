@@ -0,0 +1,162 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import com.InventoryFlow.InventoryFlow.dto.CacheStatsDTO;
+import com.InventoryFlow.InventoryFlow.entity.Category;
+import com.InventoryFlow.InventoryFlow.entity.Item;
+import com.InventoryFlow.InventoryFlow.entity.Role;
+import com.InventoryFlow.InventoryFlow.entity.Supplier;
+import com.InventoryFlow.InventoryFlow.repository.CategoryRepository;
+import com.InventoryFlow.InventoryFlow.repository.ItemRepository;
+import com.InventoryFlow.InventoryFlow.repository.RoleRepository;
+import com.InventoryFlow.InventoryFlow.repository.SupplierRepository;
+import com.InventoryFlow.InventoryFlow.util.AfterCommit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache for items, categories, suppliers and roles. Immutable
+ * snapshots are cached and every lookup returns a fresh detached copy, so
+ * callers can read it or assign it to an association (only the id is written)
+ * without sharing state between requests. Writers invalidate an entry both
+ * immediately and after commit.
+ */
+@Component
+public class ReferenceDataCache {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private final ReferenceCache<Long, ItemRef> items;
+    private final ReferenceCache<Long, CategoryRef> categories;
+    private final ReferenceCache<Long, SupplierRef> suppliers;
+    private final ReferenceCache<Long, RoleRef> roles;
+    private final ReferenceCache<String, List<RoleRef>> roleList;
+
+    public ReferenceDataCache(@Value("${inventoryflow.reference-cache.max-size:10000}") int maxSize,
+                              @Value("${inventoryflow.reference-cache.ttl-ms:600000}") long ttlMillis) {
+        items = new ReferenceCache<>("items", maxSize, ttlMillis);
+        categories = new ReferenceCache<>("categories", maxSize, ttlMillis);
+        suppliers = new ReferenceCache<>("suppliers", maxSize, ttlMillis);
+        roles = new ReferenceCache<>("roles", maxSize, ttlMillis);
+        roleList = new ReferenceCache<>("role-list", 1, ttlMillis);
+    }
+
+    public Optional<Item> findItem(Long id) {
+        return items.get(id, key -> itemRepository.findById(key).map(ItemRef::of)).map(ItemRef::toEntity);
+    }
+
+    public Map<Long, Item> findItems(Collection<Long> ids) {
+        Map<Long, ItemRef> refs = items.getAll(ids, missing -> itemRepository.findAllById(missing).stream()
+                .collect(Collectors.toMap(Item::getId, ItemRef::of)));
+        Map<Long, Item> result = new LinkedHashMap<>();
+        refs.forEach((id, ref) -> result.put(id, ref.toEntity()));
+        return result;
+    }
+
+    public Optional<Category> findCategory(Long id) {
+        return categories.get(id, key -> categoryRepository.findById(key).map(CategoryRef::of)).map(CategoryRef::toEntity);
+    }
+
+    public Optional<Supplier> findSupplier(Long id) {
+        return suppliers.get(id, key -> supplierRepository.findById(key).map(SupplierRef::of)).map(SupplierRef::toEntity);
+    }
+
+    public Optional<Role> findRole(Long id) {
+        return roles.get(id, key -> roleRepository.findById(key).map(RoleRef::of)).map(RoleRef::toEntity);
+    }
+
+    public List<Role> findAllRoles() {
+        return roleList.get("all", key -> Optional.of(roleRepository.findAll().stream().map(RoleRef::of).toList()))
+                .orElseThrow().stream()
+                .map(RoleRef::toEntity)
+                .collect(Collectors.toList());
+    }
+
+    public void itemChanged(Long id) {
+        AfterCommit.runNowAndAfterCommit(() -> items.invalidate(id));
+    }
+
+    // Item snapshots carry their category, so they go too
+    public void categoryChanged(Long id) {
+        AfterCommit.runNowAndAfterCommit(() -> {
+            categories.invalidate(id);
+            items.invalidateAll();
+        });
+    }
+
+    public void supplierChanged(Long id) {
+        AfterCommit.runNowAndAfterCommit(() -> suppliers.invalidate(id));
+    }
+
+    public List<CacheStatsDTO> getStats() {
+        return List.of(items.stats(), categories.stats(), suppliers.stats(), roles.stats(), roleList.stats());
+    }
+
+    private record CategoryRef(Long id, String name, String description, Integer active,
+                               LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        static CategoryRef of(Category category) {
+            return new CategoryRef(category.getId(), category.getName(), category.getDescription(),
+                    category.getActive(), category.getCreatedAt(), category.getUpdatedAt());
+        }
+
+        Category toEntity() {
+            return new Category(id, name, description, active, createdAt, updatedAt);
+        }
+    }
+
+    private record ItemRef(Long id, String name, String sku, CategoryRef category, String unit,
+                           BigDecimal costPrice, BigDecimal sellingPrice, Integer reorderLevel, Integer active,
+                           LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        static ItemRef of(Item item) {
+            return new ItemRef(item.getId(), item.getName(), item.getSku(), CategoryRef.of(item.getCategory()),
+                    item.getUnit(), item.getCostPrice(), item.getSellingPrice(), item.getReorderLevel(),
+                    item.getActive(), item.getCreatedAt(), item.getUpdatedAt());
+        }
+
+        Item toEntity() {
+            return new Item(id, name, sku, category.toEntity(), unit, costPrice, sellingPrice, reorderLevel,
+                    active, createdAt, updatedAt);
+        }
+    }
+
+    private record SupplierRef(Long id, String name, String address, String phone, String email, Integer active,
+                               LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        static SupplierRef of(Supplier supplier) {
+            return new SupplierRef(supplier.getId(), supplier.getName(), supplier.getAddress(), supplier.getPhone(),
+                    supplier.getEmail(), supplier.getActive(), supplier.getCreatedAt(), supplier.getUpdatedAt());
+        }
+
+        Supplier toEntity() {
+            return new Supplier(id, name, address, phone, email, active, createdAt, updatedAt);
+        }
+    }
+
+    private record RoleRef(Long id, Role.RoleType name) {
+
+        static RoleRef of(Role role) {
+            return new RoleRef(role.getId(), role.getName());
+        }
+
+        Role toEntity() {
+            return new Role(id, name);
+        }
+    }
+}
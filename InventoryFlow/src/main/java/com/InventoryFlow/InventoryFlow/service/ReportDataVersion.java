@@ -0,0 +1,26 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import com.InventoryFlow.InventoryFlow.util.AfterCommit;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the data reports are built from. Every committed change to
+ * stock, orders or master data bumps it, which retires cached report artifacts.
+ * Seeded with the start time so artifacts from a previous run never match.
+ */
+@Component
+public class ReportDataVersion {
+
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    public long current() {
+        return version.get();
+    }
+
+    // Called inside the changing transaction; the version moves only once it commits
+    public void changed() {
+        AfterCommit.run(version::incrementAndGet);
+    }
+}
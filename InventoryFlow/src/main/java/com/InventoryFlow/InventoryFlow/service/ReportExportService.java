@@ -1,357 +1,448 @@
 package com.InventoryFlow.InventoryFlow.service;
 
 import com.InventoryFlow.InventoryFlow.dto.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.itextpdf.text.*;
 import com.itextpdf.text.pdf.PdfPCell;
 import com.itextpdf.text.pdf.PdfPTable;
 import com.itextpdf.text.pdf.PdfWriter;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellStyle;
-import org.apache.poi.ss.usermodel.Font;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import com.InventoryFlow.InventoryFlow.repository.PurchaseOrderRepository;
+import com.InventoryFlow.InventoryFlow.repository.SalesOrderRepository;
+import com.InventoryFlow.InventoryFlow.repository.StockRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.io.ByteArrayOutputStream;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+// Reports are written straight to the given stream; nothing is buffered as a whole file
 @Service
 public class ReportExportService {
 
+    // PDF table rows are handed to the writer in chunks of this size
+    private static final int PDF_FLUSH_ROWS = 200;
+
+    // CSV and NDJSON rows are pushed to the client in chunks of this size
+    private static final int STREAM_FLUSH_ROWS = 500;
+
     @Autowired
     private ReportsService reportsService;
 
-    // PDF Export Methods
-    public byte[] exportStockReportToPDF() throws Exception {
-        List<StockDTO> stocks = reportsService.getStockReport();
-        return generateStockReportPDF(stocks);
-    }
-
-    public byte[] exportLowStockReportToPDF() throws Exception {
-        List<ItemDTO> items = reportsService.getLowStockReport();
-        return generateLowStockReportPDF(items);
-    }
+    @Autowired
+    private StockRepository stockRepository;
 
-    public byte[] exportPurchaseReportToPDF(LocalDate startDate, LocalDate endDate) throws Exception {
-        List<PurchaseReportDTO> purchases = reportsService.getPurchaseReport(startDate, endDate);
-        return generatePurchaseReportPDF(purchases, startDate, endDate);
-    }
+    @Autowired
+    private PurchaseOrderRepository poRepository;
 
-    public byte[] exportSalesReportToPDF(LocalDate startDate, LocalDate endDate) throws Exception {
-        List<SalesReportDTO> sales = reportsService.getSalesReport(startDate, endDate);
-        return generateSalesReportPDF(sales, startDate, endDate);
-    }
+    @Autowired
+    private SalesOrderRepository salesOrderRepository;
 
-    public byte[] exportProfitReportToPDF(LocalDate startDate, LocalDate endDate) throws Exception {
-        BigDecimal profit = reportsService.getProfitReport(startDate, endDate);
-        return generateProfitReportPDF(profit, startDate, endDate);
-    }
+    @Autowired
+    private ProfitAnalyticsService profitAnalyticsService;
 
-    // Excel Export Methods
-    public byte[] exportStockReportToExcel() throws Exception {
-        List<StockDTO> stocks = reportsService.getStockReport();
-        return generateStockReportExcel(stocks);
-    }
+    @Autowired
+    private ObjectMapper objectMapper;
 
-    public byte[] exportLowStockReportToExcel() throws Exception {
-        List<ItemDTO> items = reportsService.getLowStockReport();
-        return generateLowStockReportExcel(items);
-    }
+    @Value("${inventoryflow.reports.excel-row-window:100}")
+    private int excelRowWindow;
 
-    public byte[] exportPurchaseReportToExcel(LocalDate startDate, LocalDate endDate) throws Exception {
-        List<PurchaseReportDTO> purchases = reportsService.getPurchaseReport(startDate, endDate);
-        return generatePurchaseReportExcel(purchases, startDate, endDate);
-    }
+    // PDF Export Methods
+    @Transactional(readOnly = true)
+    public void writeStockReportPDF(OutputStream out) throws IOException {
+        writePdf(out, document -> {
+            addTitle(document, "Stock Report");
+
+            PdfPTable table = newStreamingTable("Item Name", "SKU", "Category", "Quantity", "Stock Value");
+            long rows = 0;
+            try (Stream<StockDTO> stocks = stockRepository.streamStockReport()) {
+                for (Iterator<StockDTO> it = stocks.iterator(); it.hasNext(); ) {
+                    StockDTO stock = it.next();
+                    addTableCell(table, stock.getItemName());
+                    addTableCell(table, stock.getItemSku());
+                    addTableCell(table, stock.getCategoryName());
+                    addTableCell(table, String.valueOf(stock.getQuantityOnHand()));
+                    addTableCell(table, "$" + stock.getStockValue().setScale(2, RoundingMode.HALF_UP));
+                    flushTable(document, table, ++rows);
+                }
+            }
+            completeTable(document, table);
 
-    public byte[] exportSalesReportToExcel(LocalDate startDate, LocalDate endDate) throws Exception {
-        List<SalesReportDTO> sales = reportsService.getSalesReport(startDate, endDate);
-        return generateSalesReportExcel(sales, startDate, endDate);
+            document.add(new Paragraph("\nTotal Items: " + rows));
+        });
     }
 
-    // Private PDF Generation Methods
-    private byte[] generateStockReportPDF(List<StockDTO> stocks) throws Exception {
-        Document document = new Document();
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        PdfWriter.getInstance(document, baos);
-        document.open();
-
-        addTitle(document, "Stock Report");
+    public void writeLowStockReportPDF(OutputStream out) throws IOException {
+        List<LowStockItemDTO> items = reportsService.getLowStockReport();
+        writePdf(out, document -> {
+            addTitle(document, "Low Stock Items Report");
 
-        PdfPTable table = new PdfPTable(5);
-        table.setWidthPercentage(100);
-        addTableHeader(table, "Item Name", "SKU", "Category", "Quantity", "Stock Value");
-
-        for (StockDTO stock : stocks) {
-            addTableCell(table, stock.getItemName());
-            addTableCell(table, stock.getItemSku());
-            addTableCell(table, stock.getCategoryName());
-            addTableCell(table, String.valueOf(stock.getQuantityOnHand()));
-            addTableCell(table, "$" + stock.getStockValue().setScale(2, RoundingMode.HALF_UP));
-        }
+            PdfPTable table = new PdfPTable(4);
+            table.setWidthPercentage(100);
+            addTableHeader(table, "Item Name", "SKU", "Reorder Level", "Current Stock");
 
-        document.add(table);
-        document.add(new Paragraph("\nTotal Items: " + stocks.size()));
-        addFooter(document);
-        document.close();
+            for (LowStockItemDTO item : items) {
+                addTableCell(table, item.getName());
+                addTableCell(table, item.getSku());
+                addTableCell(table, String.valueOf(item.getReorderLevel()));
+                addTableCell(table, String.valueOf(item.getCurrentStock()));
+            }
 
-        return baos.toByteArray();
+            document.add(table);
+            document.add(new Paragraph("\nTotal Low Stock Items: " + items.size()));
+        });
     }
 
-    private byte[] generateLowStockReportPDF(List<ItemDTO> items) throws Exception {
-        Document document = new Document();
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        PdfWriter.getInstance(document, baos);
-        document.open();
-
-        addTitle(document, "Low Stock Items Report");
+    @Transactional(readOnly = true)
+    public void writePurchaseReportPDF(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        writePdf(out, document -> {
+            addTitle(document, "Purchase Report");
+            document.add(new Paragraph("Period: " + startDate + " to " + endDate + "\n"));
+
+            PdfPTable table = newStreamingTable("PO Number", "Supplier", "Order Date", "Status");
+            long rows = 0;
+            try (Stream<PurchaseReportDTO> purchases = poRepository.streamPurchaseReport(startDate, endDate)) {
+                for (Iterator<PurchaseReportDTO> it = purchases.iterator(); it.hasNext(); ) {
+                    PurchaseReportDTO purchase = it.next();
+                    addTableCell(table, purchase.getPoNumber());
+                    addTableCell(table, purchase.getSupplierName());
+                    addTableCell(table, purchase.getOrderDate().toString());
+                    addTableCell(table, purchase.getStatus());
+                    flushTable(document, table, ++rows);
+                }
+            }
+            completeTable(document, table);
 
-        PdfPTable table = new PdfPTable(4);
-        table.setWidthPercentage(100);
-        addTableHeader(table, "Item Name", "SKU", "Reorder Level", "Current Stock");
-
-        for (ItemDTO item : items) {
-            addTableCell(table, item.getName());
-            addTableCell(table, item.getSku());
-            addTableCell(table, String.valueOf(item.getReorderLevel()));
-            // Note: Would need to get current stock from StockService
-            addTableCell(table, "N/A");
-        }
+            document.add(new Paragraph("\nTotal Purchase Orders: " + rows));
+        });
+    }
 
-        document.add(table);
-        document.add(new Paragraph("\nTotal Low Stock Items: " + items.size()));
-        addFooter(document);
-        document.close();
+    @Transactional(readOnly = true)
+    public void writeSalesReportPDF(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        writePdf(out, document -> {
+            addTitle(document, "Sales Report");
+            document.add(new Paragraph("Period: " + startDate + " to " + endDate + "\n"));
+
+            PdfPTable table = newStreamingTable("SO Number", "Customer", "Order Date", "Total Amount", "Status");
+            long rows = 0;
+            BigDecimal totalSales = BigDecimal.ZERO;
+            try (Stream<SalesReportDTO> sales = salesOrderRepository.streamSalesReport(startDate, endDate)) {
+                for (Iterator<SalesReportDTO> it = sales.iterator(); it.hasNext(); ) {
+                    SalesReportDTO sale = it.next();
+                    addTableCell(table, sale.getSoNumber());
+                    addTableCell(table, sale.getCustomerName());
+                    addTableCell(table, sale.getOrderDate().toString());
+                    addTableCell(table, "$" + sale.getTotalAmount().setScale(2, RoundingMode.HALF_UP));
+                    addTableCell(table, sale.getStatus());
+                    totalSales = totalSales.add(sale.getTotalAmount());
+                    flushTable(document, table, ++rows);
+                }
+            }
+            completeTable(document, table);
 
-        return baos.toByteArray();
+            document.add(new Paragraph("\nTotal Sales Orders: " + rows));
+            document.add(new Paragraph("Total Sales Amount: $" + totalSales.setScale(2, RoundingMode.HALF_UP)));
+        });
     }
 
-    private byte[] generatePurchaseReportPDF(List<PurchaseReportDTO> purchases, LocalDate startDate, LocalDate endDate) throws Exception {
-        Document document = new Document();
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        PdfWriter.getInstance(document, baos);
-        document.open();
+    public void writeProfitReportPDF(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        BigDecimal profit = reportsService.getProfitReport(startDate, endDate);
+        writePdf(out, document -> {
+            addTitle(document, "Profit Report");
+            document.add(new Paragraph("Period: " + startDate + " to " + endDate + "\n"));
+            document.add(new Paragraph("\nTotal Profit: $" + profit.setScale(2, RoundingMode.HALF_UP)));
+        });
+    }
 
-        addTitle(document, "Purchase Report");
-        document.add(new Paragraph("Period: " + startDate + " to " + endDate + "\n"));
+    public void writeProfitCubePDF(LocalDate startDate, LocalDate endDate,
+                                   Set<ProfitAnalyticsService.Dimension> dimensions, OutputStream out) throws IOException {
+        List<ProfitCubeRowDTO> rows = profitAnalyticsService.getProfitCube(startDate, endDate, dimensions);
+        writePdf(out, document -> {
+            addTitle(document, "Profit Analysis");
+            document.add(new Paragraph("Period: " + startDate + " to " + endDate + "\n"));
+
+            String[] headers = profitCubeHeaders(dimensions);
+            PdfPTable table = newStreamingTable(headers);
+            long count = 0;
+            for (ProfitCubeRowDTO row : rows) {
+                for (Object value : profitCubeValues(row, dimensions)) {
+                    addTableCell(table, value instanceof BigDecimal amount
+                            ? amount.setScale(2, RoundingMode.HALF_UP).toString()
+                            : value != null ? value.toString() : "");
+                }
+                flushTable(document, table, ++count);
+            }
+            completeTable(document, table);
 
-        PdfPTable table = new PdfPTable(4);
-        table.setWidthPercentage(100);
-        addTableHeader(table, "PO Number", "Supplier", "Order Date", "Status");
+            document.add(new Paragraph("\nTotal Profit: $" + rows.stream()
+                    .map(ProfitCubeRowDTO::getProfit)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add)
+                    .setScale(2, RoundingMode.HALF_UP)));
+        });
+    }
 
-        for (PurchaseReportDTO purchase : purchases) {
-            addTableCell(table, purchase.getPoNumber());
-            addTableCell(table, purchase.getSupplierName());
-            addTableCell(table, purchase.getOrderDate().toString());
-            addTableCell(table, purchase.getStatus());
+    // Excel Export Methods - rows are read from a cursor and written through SXSSF
+    @Transactional(readOnly = true)
+    public void writeStockReportExcel(OutputStream out) throws IOException {
+        try (ExcelReportWriter writer = new ExcelReportWriter("Stock Report", excelRowWindow);
+             Stream<StockDTO> stocks = stockRepository.streamStockReport()) {
+            writer.headerRow("Item Name", "SKU", "Category", "Quantity", "Stock Value");
+            stocks.forEach(stock -> writer.dataRow(
+                    stock.getItemName(),
+                    stock.getItemSku(),
+                    stock.getCategoryName(),
+                    stock.getQuantityOnHand(),
+                    stock.getStockValue()));
+            writer.write(out);
         }
-
-        document.add(table);
-        document.add(new Paragraph("\nTotal Purchase Orders: " + purchases.size()));
-        addFooter(document);
-        document.close();
-
-        return baos.toByteArray();
     }
 
-    private byte[] generateSalesReportPDF(List<SalesReportDTO> sales, LocalDate startDate, LocalDate endDate) throws Exception {
-        Document document = new Document();
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        PdfWriter.getInstance(document, baos);
-        document.open();
-
-        addTitle(document, "Sales Report");
-        document.add(new Paragraph("Period: " + startDate + " to " + endDate + "\n"));
-
-        PdfPTable table = new PdfPTable(5);
-        table.setWidthPercentage(100);
-        addTableHeader(table, "SO Number", "Customer", "Order Date", "Total Amount", "Status");
-
-        BigDecimal totalSales = BigDecimal.ZERO;
-        for (SalesReportDTO sale : sales) {
-            addTableCell(table, sale.getSoNumber());
-            addTableCell(table, sale.getCustomerName());
-            addTableCell(table, sale.getOrderDate().toString());
-            addTableCell(table, "$" + sale.getTotalAmount().setScale(2, RoundingMode.HALF_UP));
-            addTableCell(table, sale.getStatus());
-            totalSales = totalSales.add(sale.getTotalAmount());
+    public void writeLowStockReportExcel(OutputStream out) throws IOException {
+        try (ExcelReportWriter writer = new ExcelReportWriter("Low Stock Report", excelRowWindow)) {
+            writer.headerRow("Item Name", "SKU", "Reorder Level", "Current Stock");
+            for (LowStockItemDTO item : reportsService.getLowStockReport()) {
+                writer.dataRow(item.getName(), item.getSku(), item.getReorderLevel(), item.getCurrentStock());
+            }
+            writer.write(out);
         }
-
-        document.add(table);
-        document.add(new Paragraph("\nTotal Sales Orders: " + sales.size()));
-        document.add(new Paragraph("Total Sales Amount: $" + totalSales.setScale(2, RoundingMode.HALF_UP)));
-        addFooter(document);
-        document.close();
-
-        return baos.toByteArray();
     }
 
-    private byte[] generateProfitReportPDF(BigDecimal profit, LocalDate startDate, LocalDate endDate) throws Exception {
-        Document document = new Document();
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        PdfWriter.getInstance(document, baos);
-        document.open();
-
-        addTitle(document, "Profit Report");
-        document.add(new Paragraph("Period: " + startDate + " to " + endDate + "\n"));
-        document.add(new Paragraph("\nTotal Profit: $" + profit.setScale(2, RoundingMode.HALF_UP)));
-        addFooter(document);
-        document.close();
-
-        return baos.toByteArray();
-    }
-
-    // Private Excel Generation Methods
-    private byte[] generateStockReportExcel(List<StockDTO> stocks) throws Exception {
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("Stock Report");
-
-        // Header
-        Row headerRow = sheet.createRow(0);
-        createCell(headerRow, 0, "Item Name", workbook);
-        createCell(headerRow, 1, "SKU", workbook);
-        createCell(headerRow, 2, "Category", workbook);
-        createCell(headerRow, 3, "Quantity", workbook);
-        createCell(headerRow, 4, "Stock Value", workbook);
-
-        // Data
-        int rowNum = 1;
-        for (StockDTO stock : stocks) {
-            Row row = sheet.createRow(rowNum++);
-            createCell(row, 0, stock.getItemName(), workbook);
-            createCell(row, 1, stock.getItemSku(), workbook);
-            createCell(row, 2, stock.getCategoryName(), workbook);
-            createCell(row, 3, stock.getQuantityOnHand(), workbook);
-            createCell(row, 4, stock.getStockValue().doubleValue(), workbook);
+    @Transactional(readOnly = true)
+    public void writePurchaseReportExcel(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        try (ExcelReportWriter writer = new ExcelReportWriter("Purchase Report", excelRowWindow);
+             Stream<PurchaseReportDTO> purchases = poRepository.streamPurchaseReport(startDate, endDate)) {
+            writer.titleRow("Purchase Report");
+            writer.dataRow("Period: " + startDate + " to " + endDate);
+            writer.blankRow();
+            writer.headerRow("PO Number", "Supplier", "Order Date", "Status");
+            purchases.forEach(purchase -> writer.dataRow(
+                    purchase.getPoNumber(),
+                    purchase.getSupplierName(),
+                    purchase.getOrderDate().toString(),
+                    purchase.getStatus()));
+            writer.write(out);
         }
+    }
 
-        // Auto-size columns
-        for (int i = 0; i < 5; i++) {
-            sheet.autoSizeColumn(i);
+    @Transactional(readOnly = true)
+    public void writeSalesReportExcel(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        try (ExcelReportWriter writer = new ExcelReportWriter("Sales Report", excelRowWindow);
+             Stream<SalesReportDTO> sales = salesOrderRepository.streamSalesReport(startDate, endDate)) {
+            writer.titleRow("Sales Report");
+            writer.dataRow("Period: " + startDate + " to " + endDate);
+            writer.blankRow();
+            writer.headerRow("SO Number", "Customer", "Order Date", "Total Amount", "Status");
+
+            BigDecimal[] totalSales = {BigDecimal.ZERO};
+            sales.forEach(sale -> {
+                writer.dataRow(
+                        sale.getSoNumber(),
+                        sale.getCustomerName(),
+                        sale.getOrderDate().toString(),
+                        sale.getTotalAmount(),
+                        sale.getStatus());
+                totalSales[0] = totalSales[0].add(sale.getTotalAmount());
+            });
+
+            writer.dataRow(null, null, null, "Total: $" + totalSales[0].setScale(2, RoundingMode.HALF_UP));
+            writer.write(out);
         }
+    }
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        workbook.write(baos);
-        workbook.close();
-
-        return baos.toByteArray();
+    public void writeProfitCubeExcel(LocalDate startDate, LocalDate endDate,
+                                     Set<ProfitAnalyticsService.Dimension> dimensions, OutputStream out) throws IOException {
+        List<ProfitCubeRowDTO> rows = profitAnalyticsService.getProfitCube(startDate, endDate, dimensions);
+        try (ExcelReportWriter writer = new ExcelReportWriter("Profit Analysis", excelRowWindow)) {
+            writer.titleRow("Profit Analysis");
+            writer.dataRow("Period: " + startDate + " to " + endDate);
+            writer.blankRow();
+            writer.headerRow(profitCubeHeaders(dimensions));
+            for (ProfitCubeRowDTO row : rows) {
+                writer.dataRow(profitCubeValues(row, dimensions));
+            }
+            writer.write(out);
+        }
     }
 
-    private byte[] generateLowStockReportExcel(List<ItemDTO> items) throws Exception {
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("Low Stock Report");
+    // CSV and NDJSON Export Methods - one line per row, flushed while the cursor is read
+    @Transactional(readOnly = true)
+    public void writeStockReportCsv(OutputStream out) throws IOException {
+        try (Stream<StockDTO> stocks = stockRepository.streamStockReport()) {
+            writeCsv(stocks, out, new String[]{"Item Name", "SKU", "Category", "Quantity", "Unit Cost", "Stock Value"},
+                    stock -> new Object[]{stock.getItemName(), stock.getItemSku(), stock.getCategoryName(),
+                            stock.getQuantityOnHand(), stock.getUnitCostPrice(), stock.getStockValue()});
+        }
+    }
 
-        Row headerRow = sheet.createRow(0);
-        createCell(headerRow, 0, "Item Name", workbook);
-        createCell(headerRow, 1, "SKU", workbook);
-        createCell(headerRow, 2, "Reorder Level", workbook);
-        createCell(headerRow, 3, "Current Stock", workbook);
+    @Transactional(readOnly = true)
+    public void writePurchaseReportCsv(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        try (Stream<PurchaseReportDTO> purchases = poRepository.streamPurchaseReport(startDate, endDate)) {
+            writeCsv(purchases, out, new String[]{"PO Number", "Supplier", "Order Date", "Status"},
+                    purchase -> new Object[]{purchase.getPoNumber(), purchase.getSupplierName(),
+                            purchase.getOrderDate(), purchase.getStatus()});
+        }
+    }
 
-        int rowNum = 1;
-        for (ItemDTO item : items) {
-            Row row = sheet.createRow(rowNum++);
-            createCell(row, 0, item.getName(), workbook);
-            createCell(row, 1, item.getSku(), workbook);
-            createCell(row, 2, item.getReorderLevel(), workbook);
-            createCell(row, 3, "N/A", workbook);
+    @Transactional(readOnly = true)
+    public void writeSalesReportCsv(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        try (Stream<SalesReportDTO> sales = salesOrderRepository.streamSalesReport(startDate, endDate)) {
+            writeCsv(sales, out, new String[]{"SO Number", "Customer", "Order Date", "Total Amount", "Status"},
+                    sale -> new Object[]{sale.getSoNumber(), sale.getCustomerName(), sale.getOrderDate(),
+                            sale.getTotalAmount(), sale.getStatus()});
         }
+    }
 
-        for (int i = 0; i < 4; i++) {
-            sheet.autoSizeColumn(i);
+    @Transactional(readOnly = true)
+    public void writeStockReportNdjson(OutputStream out) throws IOException {
+        try (Stream<StockDTO> stocks = stockRepository.streamStockReport()) {
+            writeNdjson(stocks, out);
         }
+    }
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        workbook.write(baos);
-        workbook.close();
+    @Transactional(readOnly = true)
+    public void writePurchaseReportNdjson(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        try (Stream<PurchaseReportDTO> purchases = poRepository.streamPurchaseReport(startDate, endDate)) {
+            writeNdjson(purchases, out);
+        }
+    }
 
-        return baos.toByteArray();
+    @Transactional(readOnly = true)
+    public void writeSalesReportNdjson(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        try (Stream<SalesReportDTO> sales = salesOrderRepository.streamSalesReport(startDate, endDate)) {
+            writeNdjson(sales, out);
+        }
     }
 
-    private byte[] generatePurchaseReportExcel(List<PurchaseReportDTO> purchases, LocalDate startDate, LocalDate endDate) throws Exception {
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("Purchase Report");
+    // Helper methods for the profit cube: only the grouped dimensions get a column
+    private String[] profitCubeHeaders(Set<ProfitAnalyticsService.Dimension> dimensions) {
+        List<String> headers = new ArrayList<>();
+        if (dimensions.contains(ProfitAnalyticsService.Dimension.ITEM)) {
+            headers.add("Item Name");
+            headers.add("SKU");
+        }
+        if (dimensions.contains(ProfitAnalyticsService.Dimension.CATEGORY)) headers.add("Category");
+        if (dimensions.contains(ProfitAnalyticsService.Dimension.CUSTOMER)) headers.add("Customer");
+        if (dimensions.contains(ProfitAnalyticsService.Dimension.MONTH)) headers.add("Month");
+        headers.addAll(List.of("Quantity", "Revenue", "Cost", "Profit", "Margin %"));
+        return headers.toArray(new String[0]);
+    }
 
-        Row titleRow = sheet.createRow(0);
-        createCell(titleRow, 0, "Purchase Report", workbook);
-        Row periodRow = sheet.createRow(1);
-        createCell(periodRow, 0, "Period: " + startDate + " to " + endDate, workbook);
+    private Object[] profitCubeValues(ProfitCubeRowDTO row, Set<ProfitAnalyticsService.Dimension> dimensions) {
+        List<Object> values = new ArrayList<>();
+        if (dimensions.contains(ProfitAnalyticsService.Dimension.ITEM)) {
+            values.add(row.getItemName());
+            values.add(row.getItemSku());
+        }
+        if (dimensions.contains(ProfitAnalyticsService.Dimension.CATEGORY)) values.add(row.getCategoryName());
+        if (dimensions.contains(ProfitAnalyticsService.Dimension.CUSTOMER)) values.add(row.getCustomerName());
+        if (dimensions.contains(ProfitAnalyticsService.Dimension.MONTH)) values.add(row.getMonth());
+        values.addAll(Arrays.asList(row.getQuantity(), row.getRevenue(), row.getCost(), row.getProfit(), row.getMarginPercent()));
+        return values.toArray();
+    }
 
-        Row headerRow = sheet.createRow(3);
-        createCell(headerRow, 0, "PO Number", workbook);
-        createCell(headerRow, 1, "Supplier", workbook);
-        createCell(headerRow, 2, "Order Date", workbook);
-        createCell(headerRow, 3, "Status", workbook);
+    // Helper methods for CSV and NDJSON
+    private <T> void writeCsv(Stream<T> rows, OutputStream out, String[] headers,
+                              Function<T, Object[]> columns) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(csvLine(headers));
+        long count = 0;
+        for (Iterator<T> it = rows.iterator(); it.hasNext(); ) {
+            writer.write(csvLine(columns.apply(it.next())));
+            if (++count % STREAM_FLUSH_ROWS == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
 
-        int rowNum = 4;
-        for (PurchaseReportDTO purchase : purchases) {
-            Row row = sheet.createRow(rowNum++);
-            createCell(row, 0, purchase.getPoNumber(), workbook);
-            createCell(row, 1, purchase.getSupplierName(), workbook);
-            createCell(row, 2, purchase.getOrderDate().toString(), workbook);
-            createCell(row, 3, purchase.getStatus(), workbook);
+    private String csvLine(Object[] values) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            String value = values[i] == null ? "" : values[i].toString();
+            if (values[i] instanceof CharSequence && isFormulaLike(value)) {
+                // Spreadsheets would evaluate the cell; the quote makes it plain text
+                value = "'" + value;
+            }
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                value = '"' + value.replace("\"", "\"\"") + '"';
+            }
+            line.append(value);
         }
+        return line.append("\r\n").toString();
+    }
+
+    private static boolean isFormulaLike(String value) {
+        return !value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0;
+    }
 
-        for (int i = 0; i < 4; i++) {
-            sheet.autoSizeColumn(i);
+    private <T> void writeNdjson(Stream<T> rows, OutputStream out) throws IOException {
+        OutputStream buffered = new BufferedOutputStream(out);
+        long count = 0;
+        for (Iterator<T> it = rows.iterator(); it.hasNext(); ) {
+            buffered.write(objectMapper.writeValueAsBytes(it.next()));
+            buffered.write('\n');
+            if (++count % STREAM_FLUSH_ROWS == 0) {
+                buffered.flush();
+            }
         }
+        buffered.flush();
+    }
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        workbook.write(baos);
-        workbook.close();
-
-        return baos.toByteArray();
-    }
-
-    private byte[] generateSalesReportExcel(List<SalesReportDTO> sales, LocalDate startDate, LocalDate endDate) throws Exception {
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("Sales Report");
-
-        Row titleRow = sheet.createRow(0);
-        createCell(titleRow, 0, "Sales Report", workbook);
-        Row periodRow = sheet.createRow(1);
-        createCell(periodRow, 0, "Period: " + startDate + " to " + endDate, workbook);
-
-        Row headerRow = sheet.createRow(3);
-        createCell(headerRow, 0, "SO Number", workbook);
-        createCell(headerRow, 1, "Customer", workbook);
-        createCell(headerRow, 2, "Order Date", workbook);
-        createCell(headerRow, 3, "Total Amount", workbook);
-        createCell(headerRow, 4, "Status", workbook);
-
-        int rowNum = 4;
-        BigDecimal totalSales = BigDecimal.ZERO;
-        for (SalesReportDTO sale : sales) {
-            Row row = sheet.createRow(rowNum++);
-            createCell(row, 0, sale.getSoNumber(), workbook);
-            createCell(row, 1, sale.getCustomerName(), workbook);
-            createCell(row, 2, sale.getOrderDate().toString(), workbook);
-            createCell(row, 3, sale.getTotalAmount().doubleValue(), workbook);
-            createCell(row, 4, sale.getStatus(), workbook);
-            totalSales = totalSales.add(sale.getTotalAmount());
+    // Helper methods for PDF
+    private void writePdf(OutputStream out, PdfContent content) throws IOException {
+        Document document = new Document();
+        try {
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false); // the caller owns the output stream
+            document.open();
+            content.write(document);
+            addFooter(document);
+        } catch (DocumentException e) {
+            throw new IOException("Could not generate PDF report", e);
+        } finally {
+            if (document.isOpen()) {
+                document.close();
+            }
         }
+    }
 
-        Row totalRow = sheet.createRow(rowNum);
-        createCell(totalRow, 3, "Total: $" + totalSales.setScale(2, RoundingMode.HALF_UP), workbook);
+    // Table whose rows are written out every PDF_FLUSH_ROWS rows instead of being kept until the end
+    private PdfPTable newStreamingTable(String... headers) {
+        PdfPTable table = new PdfPTable(headers.length);
+        table.setWidthPercentage(100);
+        table.setHeaderRows(1);
+        table.setComplete(false);
+        addTableHeader(table, headers);
+        return table;
+    }
 
-        for (int i = 0; i < 5; i++) {
-            sheet.autoSizeColumn(i);
+    private void flushTable(Document document, PdfPTable table, long rows) throws DocumentException {
+        if (rows % PDF_FLUSH_ROWS == 0) {
+            document.add(table);
         }
+    }
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        workbook.write(baos);
-        workbook.close();
-
-        return baos.toByteArray();
+    private void completeTable(Document document, PdfPTable table) throws DocumentException {
+        table.setComplete(true);
+        document.add(table);
     }
 
-    // Helper methods for PDF
-    private void addTitle(Document document, String title) throws Exception {
+    private void addTitle(Document document, String title) throws DocumentException {
         com.itextpdf.text.Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18);
         Paragraph titlePara = new Paragraph(title, titleFont);
         titlePara.setAlignment(Element.ALIGN_CENTER);
@@ -375,29 +466,13 @@ public class ReportExportService {
         table.addCell(cell);
     }
 
-    private void addFooter(Document document) throws Exception {
+    private void addFooter(Document document) throws DocumentException {
         document.add(new Paragraph("\n\nGenerated on: " + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")),
                 FontFactory.getFont(FontFactory.HELVETICA, 8)));
     }
 
-    // Helper methods for Excel
-    private void createCell(Row row, int column, Object value, Workbook workbook) {
-        Cell cell = row.createCell(column);
-        CellStyle headerStyle = workbook.createCellStyle();
-        Font headerFont = workbook.createFont();
-        headerFont.setBold(true);
-        headerStyle.setFont(headerFont);
-
-        if (value instanceof String) {
-            cell.setCellValue((String) value);
-            if (row.getRowNum() == 0 || row.getRowNum() == 3) {
-                cell.setCellStyle(headerStyle);
-            }
-        } else if (value instanceof Integer) {
-            cell.setCellValue((Integer) value);
-        } else if (value instanceof Double || value instanceof BigDecimal) {
-            cell.setCellValue(value instanceof BigDecimal ? ((BigDecimal) value).doubleValue() : (Double) value);
-        }
+    @FunctionalInterface
+    private interface PdfContent {
+        void write(Document document) throws DocumentException;
     }
 }
-
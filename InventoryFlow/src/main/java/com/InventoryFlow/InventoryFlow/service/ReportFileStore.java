@@ -0,0 +1,63 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.stream.Stream;
+
+/**
+ * Local directory holding generated report files. Files are written under a
+ * temporary name and moved into place once complete, so a stored artifact is
+ * never partially written.
+ */
+@Component
+public class ReportFileStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportFileStore.class);
+
+    @Value("${inventoryflow.reports.jobs.store-dir:${java.io.tmpdir}/inventoryflow-reports}")
+    private String storeDir;
+
+    private Path root;
+
+    // Job state is kept in memory, so files left by a previous run can never be served again
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(storeDir).toAbsolutePath();
+        Files.createDirectories(root);
+        try (Stream<Path> files = Files.list(root)) {
+            files.forEach(this::delete);
+        }
+    }
+
+    public Path newTempFile() throws IOException {
+        return Files.createTempFile(root, "report-", ".tmp");
+    }
+
+    public Path store(Path tempFile, String name) throws IOException {
+        return Files.move(tempFile, root.resolve(name), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public boolean exists(Path file) {
+        return file != null && Files.isRegularFile(file);
+    }
+
+    public void delete(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete report file {}", file, e);
+        }
+    }
+}
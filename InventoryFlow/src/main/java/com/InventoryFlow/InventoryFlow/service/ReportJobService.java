@@ -0,0 +1,273 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import com.InventoryFlow.InventoryFlow.dto.ReportJobDTO;
+import com.InventoryFlow.InventoryFlow.dto.ReportJobRequest;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates report exports in the background on a bounded worker pool and
+ * keeps the finished files in the {@link ReportFileStore}. Requests for the same
+ * report, format, period and data version share one job and its artifact.
+ */
+@Service
+public class ReportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportJobService.class);
+
+    public enum ReportType { STOCK, SALES, PURCHASE, PROFIT }
+
+    public enum ReportFormat {
+        PDF("pdf"), EXCEL("xlsx");
+
+        private final String extension;
+
+        ReportFormat(String extension) {
+            this.extension = extension;
+        }
+    }
+
+    public enum JobStatus { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    @Autowired
+    private ReportExportService reportExportService;
+
+    @Autowired
+    private ReportFileStore fileStore;
+
+    @Autowired
+    private ReportDataVersion dataVersion;
+
+    @Value("${inventoryflow.reports.jobs.retention-ms:3600000}")
+    private long retentionMs;
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, ReportJob> jobsByKey = new ConcurrentHashMap<>();
+
+    public ReportJobService(@Value("${inventoryflow.reports.jobs.workers:2}") int workers,
+                            @Value("${inventoryflow.reports.jobs.queue-capacity:20}") int queueCapacity,
+                            Environment environment) {
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), workerThreadFactory(environment));
+    }
+
+    // The worker count still bounds concurrent reports; virtual workers just do not pin a platform thread on JDBC
+    private static ThreadFactory workerThreadFactory(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return new VirtualThreadTaskExecutor("report-worker-").getVirtualThreadFactory();
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "report-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public synchronized ReportJobDTO submit(ReportJobRequest request) {
+        ReportType type = parse(ReportType.class, request.getReportType(), "report type");
+        ReportFormat format = parse(ReportFormat.class, request.getFormat(), "format");
+        LocalDate startDate = request.getStartDate();
+        LocalDate endDate = request.getEndDate();
+
+        if (type == ReportType.STOCK) {
+            startDate = null;
+            endDate = null;
+        } else if (startDate == null || endDate == null) {
+            throw new RuntimeException("Start date and end date are required for the " + type.name().toLowerCase() + " report");
+        } else if (startDate.isAfter(endDate)) {
+            throw new RuntimeException("Start date must not be after end date");
+        }
+        if (type == ReportType.PROFIT && format != ReportFormat.PDF) {
+            throw new RuntimeException("Profit report is only available as PDF");
+        }
+
+        String key = type + ":" + format + ":" + startDate + ":" + endDate + ":" + dataVersion.current();
+        ReportJob existing = jobsByKey.get(key);
+        if (existing != null && isReusable(existing)) {
+            return convertToDTO(existing, true);
+        }
+
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), key, type, format, startDate, endDate);
+        jobs.put(job.id, job);
+        jobsByKey.put(key, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            jobsByKey.remove(key);
+            throw new RuntimeException("Report queue is full, please try again later");
+        }
+        return convertToDTO(job, false);
+    }
+
+    public ReportJobDTO getJob(String jobId) {
+        return convertToDTO(findJob(jobId), false);
+    }
+
+    public Path getArtifact(String jobId) {
+        ReportJob job = findJob(jobId);
+        if (job.status != JobStatus.COMPLETED) {
+            throw new RuntimeException("Report is not ready: " + job.status);
+        }
+        if (!fileStore.exists(job.file)) {
+            throw new RuntimeException("Report file has expired, please submit the job again");
+        }
+        return job.file;
+    }
+
+    public String getFileName(String jobId) {
+        return findJob(jobId).fileName();
+    }
+
+    @Scheduled(fixedDelayString = "${inventoryflow.reports.jobs.cleanup-interval-ms:600000}")
+    public synchronized void removeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(retentionMs * 1_000_000);
+        jobs.values().removeIf(job -> {
+            if (job.completedAt == null || job.completedAt.isAfter(cutoff)) {
+                return false;
+            }
+            jobsByKey.remove(job.key, job);
+            fileStore.delete(job.file);
+            return true;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(ReportJob job) {
+        job.status = JobStatus.RUNNING;
+        Path tempFile = null;
+        try {
+            tempFile = fileStore.newTempFile();
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                generate(job, out);
+            }
+            job.sizeBytes = Files.size(tempFile);
+            job.file = fileStore.store(tempFile, job.id + "." + job.format.extension);
+            job.completedAt = LocalDateTime.now();
+            job.status = JobStatus.COMPLETED;
+        } catch (Exception e) {
+            log.error("Report job {} ({} {}) failed", job.id, job.type, job.format, e);
+            fileStore.delete(tempFile);
+            job.errorMessage = e.getMessage();
+            job.completedAt = LocalDateTime.now();
+            job.status = JobStatus.FAILED;
+        }
+    }
+
+    private void generate(ReportJob job, OutputStream out) throws Exception {
+        boolean pdf = job.format == ReportFormat.PDF;
+        switch (job.type) {
+            case STOCK -> {
+                if (pdf) reportExportService.writeStockReportPDF(out);
+                else reportExportService.writeStockReportExcel(out);
+            }
+            case SALES -> {
+                if (pdf) reportExportService.writeSalesReportPDF(job.startDate, job.endDate, out);
+                else reportExportService.writeSalesReportExcel(job.startDate, job.endDate, out);
+            }
+            case PURCHASE -> {
+                if (pdf) reportExportService.writePurchaseReportPDF(job.startDate, job.endDate, out);
+                else reportExportService.writePurchaseReportExcel(job.startDate, job.endDate, out);
+            }
+            case PROFIT -> reportExportService.writeProfitReportPDF(job.startDate, job.endDate, out);
+        }
+    }
+
+    // Failed jobs and jobs whose file was cleaned up are run again
+    private boolean isReusable(ReportJob job) {
+        return switch (job.status) {
+            case QUEUED, RUNNING -> true;
+            case COMPLETED -> fileStore.exists(job.file);
+            case FAILED -> false;
+        };
+    }
+
+    private ReportJob findJob(String jobId) {
+        ReportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new RuntimeException("Report job not found");
+        }
+        return job;
+    }
+
+    private <E extends Enum<E>> E parse(Class<E> type, String value, String name) {
+        if (value == null || value.isBlank()) {
+            throw new RuntimeException("Report " + name + " is required");
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private ReportJobDTO convertToDTO(ReportJob job, boolean cached) {
+        return new ReportJobDTO(
+                job.id,
+                job.type.name(),
+                job.format.name(),
+                job.startDate,
+                job.endDate,
+                job.status.name(),
+                cached,
+                job.fileName(),
+                job.sizeBytes,
+                job.errorMessage,
+                job.createdAt,
+                job.completedAt
+        );
+    }
+
+    private static class ReportJob {
+        final String id;
+        final String key;
+        final ReportType type;
+        final ReportFormat format;
+        final LocalDate startDate;
+        final LocalDate endDate;
+        final LocalDateTime createdAt = LocalDateTime.now();
+        volatile JobStatus status = JobStatus.QUEUED;
+        volatile Path file;
+        volatile Long sizeBytes;
+        volatile String errorMessage;
+        volatile LocalDateTime completedAt;
+
+        ReportJob(String id, String key, ReportType type, ReportFormat format, LocalDate startDate, LocalDate endDate) {
+            this.id = id;
+            this.key = key;
+            this.type = type;
+            this.format = format;
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+
+        String fileName() {
+            String period = startDate != null ? "-" + startDate + "-to-" + endDate : "";
+            return type.name().toLowerCase() + "-report" + period + "." + format.extension;
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.InventoryFlow.InventoryFlow.service;
 
-import com.InventoryFlow.InventoryFlow.dto.ItemDTO;
+import com.InventoryFlow.InventoryFlow.dto.LowStockItemDTO;
 import com.InventoryFlow.InventoryFlow.dto.PurchaseReportDTO;
 import com.InventoryFlow.InventoryFlow.dto.SalesReportDTO;
 import com.InventoryFlow.InventoryFlow.dto.StockDTO;
@@ -8,17 +8,19 @@ import com.InventoryFlow.InventoryFlow.dto.SupplierPurchaseHistoryDTO;
 import com.InventoryFlow.InventoryFlow.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ReportsService {
 
     @Autowired
-    private ItemService itemService;
+    private LowStockIndex lowStockIndex;
 
     @Autowired
     private StockService stockService;
@@ -32,35 +34,30 @@ public class ReportsService {
     @Autowired
     private SupplierRepository supplierRepository;
 
+    @Autowired
+    private InventoryCostingService inventoryCostingService;
+
     public List<StockDTO> getStockReport() {
         return stockService.getAllStocks();
     }
 
-    public List<ItemDTO> getLowStockReport() {
-        return itemService.getLowStockItems();
+    public List<LowStockItemDTO> getLowStockReport() {
+        return lowStockIndex.getLowStockItems(Integer.MAX_VALUE);
     }
 
+    // Report rows are read as projections, so no orders, suppliers or lines are loaded
+    @Transactional(readOnly = true)
     public List<PurchaseReportDTO> getPurchaseReport(LocalDate startDate, LocalDate endDate) {
-        return poRepository.findByOrderDateBetween(startDate, endDate).stream()
-                .map(po -> new PurchaseReportDTO(
-                        po.getPoNumber(),
-                        po.getSupplier().getName(),
-                        po.getOrderDate(),
-                        po.getStatus().name()
-                ))
-                .collect(Collectors.toList());
+        try (Stream<PurchaseReportDTO> rows = poRepository.streamPurchaseReport(startDate, endDate)) {
+            return rows.collect(Collectors.toList());
+        }
     }
 
+    @Transactional(readOnly = true)
     public List<SalesReportDTO> getSalesReport(LocalDate startDate, LocalDate endDate) {
-        return salesOrderRepository.findByOrderDateBetween(startDate, endDate).stream()
-                .map(so -> new SalesReportDTO(
-                        so.getSoNumber(),
-                        so.getCustomerName(),
-                        so.getOrderDate(),
-                        so.getTotalAmount(),
-                        so.getStatus().name()
-                ))
-                .collect(Collectors.toList());
+        try (Stream<SalesReportDTO> rows = salesOrderRepository.streamSalesReport(startDate, endDate)) {
+            return rows.collect(Collectors.toList());
+        }
     }
 
     public List<SupplierPurchaseHistoryDTO> getSupplierPurchaseHistory(Long supplierId) {
@@ -74,13 +71,12 @@ public class ReportsService {
     }
 
     public BigDecimal getProfitReport(LocalDate startDate, LocalDate endDate) {
-        // Calculate profit: sales - cost
+        // Gross profit: invoiced sales - cost of the goods issued for them
         BigDecimal sales = salesOrderRepository.getTotalSalesBetween(startDate, endDate);
         if (sales == null) sales = BigDecimal.ZERO;
-        
-        // TODO: Calculate cost from GRN or PO
-        BigDecimal cost = BigDecimal.ZERO;
-        
+
+        BigDecimal cost = inventoryCostingService.getCostOfSales(startDate, endDate);
+
         return sales.subtract(cost);
     }
 }
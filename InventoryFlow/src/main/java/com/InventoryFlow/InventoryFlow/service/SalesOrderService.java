@@ -1,12 +1,14 @@
 package com.InventoryFlow.InventoryFlow.service;
 
+import com.InventoryFlow.InventoryFlow.dto.PageQuery;
+import com.InventoryFlow.InventoryFlow.dto.PageResponse;
+import com.InventoryFlow.InventoryFlow.dto.SalesOrderSummaryDTO;
 import com.InventoryFlow.InventoryFlow.dto.SalesOrderDTO;
 import com.InventoryFlow.InventoryFlow.dto.SalesOrderLineDTO;
 import com.InventoryFlow.InventoryFlow.entity.Item;
 import com.InventoryFlow.InventoryFlow.entity.SalesOrder;
 import com.InventoryFlow.InventoryFlow.entity.SalesOrderLine;
 import com.InventoryFlow.InventoryFlow.entity.User;
-import com.InventoryFlow.InventoryFlow.repository.ItemRepository;
 import com.InventoryFlow.InventoryFlow.repository.SalesOrderRepository;
 import com.InventoryFlow.InventoryFlow.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,23 +17,43 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class SalesOrderService {
 
+    private static final KeysetPager<SalesOrder> PAGER = new KeysetPager<SalesOrder>()
+            .sortable("soNumber", "soNumber", String.class)
+            .sortable("orderDate", "orderDate", LocalDate.class)
+            .sortable("createdAt", "createdAt", LocalDateTime.class)
+            .filterable("soNumber", "soNumber", String.class)
+            .filterable("customerName", "customerName", String.class)
+            .filterable("status", "status", SalesOrder.SOStatus.class)
+            .filterable("orderDate", "orderDate", LocalDate.class);
+
     @Autowired
     private SalesOrderRepository soRepository;
 
     @Autowired
-    private ItemRepository itemRepository;
+    private DocumentNumberAllocator documentNumberAllocator;
+
+    @Autowired
+    private LineItemResolver lineItemResolver;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ReportDataVersion reportDataVersion;
+
+    @Autowired
+    private DocumentSearchIndex documentSearchIndex;
+
     public SalesOrderDTO createSalesOrder(SalesOrderDTO soDTO) {
         User createdBy = userRepository.findById(soDTO.getCreatedById())
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -51,14 +73,12 @@ public class SalesOrderService {
 
         BigDecimal subtotal = BigDecimal.ZERO;
 
-        for (SalesOrderLineDTO lineDTO : soDTO.getOrderLines()) {
-            Item item = itemRepository.findById(lineDTO.getItemId())
-                    .orElseThrow(() -> new RuntimeException("Item not found"));
+        Map<Long, Item> items = lineItemResolver.resolveActiveItems(
+                soDTO.getOrderLines().stream().map(SalesOrderLineDTO::getItemId).collect(Collectors.toList()),
+                "Sales Orders");
 
-            // Validate that item is active
-            if (item.getActive() == null || item.getActive() != 1) {
-                throw new RuntimeException("Item '" + item.getName() + "' is inactive and cannot be used in Sales Orders");
-            }
+        for (SalesOrderLineDTO lineDTO : soDTO.getOrderLines()) {
+            Item item = items.get(lineDTO.getItemId());
 
             SalesOrderLine line = new SalesOrderLine();
             line.setSalesOrder(so);
@@ -74,13 +94,17 @@ public class SalesOrderService {
         so.setTotalAmount(total);
 
         SalesOrder saved = soRepository.save(so);
+        documentSearchIndex.salesOrderChanged(saved);
+        reportDataVersion.changed();
         return convertToDTO(saved);
     }
 
-    public List<SalesOrderDTO> getAllSalesOrders() {
-        return soRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public List<SalesOrderSummaryDTO> getAllSalesOrders() {
+        return soRepository.findAllSummaries();
+    }
+
+    public PageResponse<SalesOrderSummaryDTO> getSalesOrdersPage(PageQuery query) {
+        return PAGER.pageAll(soRepository, query, this::toSummaries);
     }
 
     public SalesOrderDTO getSalesOrderById(Long id) {
@@ -101,6 +125,8 @@ public class SalesOrderService {
         }
         
         SalesOrder saved = soRepository.save(so);
+        documentSearchIndex.salesOrderChanged(saved);
+        reportDataVersion.changed();
         return convertToDTO(saved);
     }
 
@@ -128,14 +154,12 @@ public class SalesOrderService {
 
         BigDecimal subtotal = BigDecimal.ZERO;
 
-        for (SalesOrderLineDTO lineDTO : soDTO.getOrderLines()) {
-            Item item = itemRepository.findById(lineDTO.getItemId())
-                    .orElseThrow(() -> new RuntimeException("Item not found"));
+        Map<Long, Item> items = lineItemResolver.resolveActiveItems(
+                soDTO.getOrderLines().stream().map(SalesOrderLineDTO::getItemId).collect(Collectors.toList()),
+                "Sales Orders");
 
-            // Validate that item is active
-            if (item.getActive() == null || item.getActive() != 1) {
-                throw new RuntimeException("Item '" + item.getName() + "' is inactive and cannot be used in Sales Orders");
-            }
+        for (SalesOrderLineDTO lineDTO : soDTO.getOrderLines()) {
+            Item item = items.get(lineDTO.getItemId());
 
             SalesOrderLine line = new SalesOrderLine();
             line.setSalesOrder(so);
@@ -151,14 +175,20 @@ public class SalesOrderService {
         so.setTotalAmount(total);
 
         SalesOrder saved = soRepository.save(so);
+        documentSearchIndex.salesOrderChanged(saved);
+        reportDataVersion.changed();
         return convertToDTO(saved);
     }
 
     private String generateSONumber() {
-        String prefix = "SO";
-        String dateStr = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        long count = soRepository.count();
-        return String.format("%s-%s-%05d", prefix, dateStr, count + 1);
+        return documentNumberAllocator.nextNumber("SO");
+    }
+
+    // Summaries come back grouped, so put them back in page order
+    private List<SalesOrderSummaryDTO> toSummaries(List<SalesOrder> page) {
+        Map<Long, SalesOrderSummaryDTO> byId = soRepository.findSummariesByIdIn(page.stream().map(SalesOrder::getId).toList()).stream()
+                .collect(Collectors.toMap(SalesOrderSummaryDTO::getId, Function.identity()));
+        return page.stream().map(row -> byId.get(row.getId())).toList();
     }
 
     private SalesOrderDTO convertToDTO(SalesOrder so) {
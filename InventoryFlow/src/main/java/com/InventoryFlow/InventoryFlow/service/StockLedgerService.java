@@ -0,0 +1,255 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import com.InventoryFlow.InventoryFlow.dto.StockDTO;
+import com.InventoryFlow.InventoryFlow.dto.StockDriftDTO;
+import com.InventoryFlow.InventoryFlow.entity.Item;
+import com.InventoryFlow.InventoryFlow.dto.StockMovementDTO;
+import com.InventoryFlow.InventoryFlow.entity.StockMovement;
+import com.InventoryFlow.InventoryFlow.entity.StockSnapshot;
+import com.InventoryFlow.InventoryFlow.entity.StockSnapshotLine;
+import com.InventoryFlow.InventoryFlow.repository.ItemRepository;
+import com.InventoryFlow.InventoryFlow.repository.StockMovementRepository;
+import com.InventoryFlow.InventoryFlow.repository.StockRepository;
+import com.InventoryFlow.InventoryFlow.repository.StockSnapshotRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only stock ledger. Every stock move writes one stock_movements row;
+ * the stocks table is the current-balance projection of it. Daily snapshots
+ * bound the replay needed to rebuild or audit a balance to one day of movements.
+ * <p>
+ * A snapshot covers every movement created before the end of its day, and
+ * readers add the movements created from then on. Ids are not used as the
+ * boundary: an IDENTITY id is assigned at insert, so a transaction that
+ * commits late can land below an id a snapshot has already passed. Instead a
+ * day is only snapshotted once the safety lag has elapsed after its end, by
+ * which time every transaction that created a movement that day has
+ * committed; a transaction that stays open longer than the lag is not covered.
+ */
+@Service
+@Transactional
+public class StockLedgerService {
+
+    @Autowired
+    private StockMovementRepository movementRepository;
+
+    @Autowired
+    private StockSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private LowStockIndex lowStockIndex;
+
+    @Autowired
+    private ReportDataVersion reportDataVersion;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    // Balances before the first snapshot are replayed from here, earlier than any movement
+    private static final LocalDateTime LEDGER_START = LocalDate.of(1900, 1, 1).atStartOfDay();
+
+    @Value("${inventoryflow.stock.snapshot-lag-minutes:5}")
+    private long snapshotLagMinutes;
+
+    public void recordMovement(Long itemId, StockMovement.MovementType type, Integer quantity, String reference) {
+        StockMovement movement = new StockMovement();
+        movement.setItem(itemRepository.getReferenceById(itemId));
+        movement.setMovementType(type);
+        movement.setQuantity(quantity);
+        movement.setReference(reference);
+        movementRepository.save(movement);
+        reportDataVersion.changed();
+    }
+
+    // Stock that existed before the ledger was introduced gets one opening movement per item
+    public void recordOpeningBalances() {
+        if (movementRepository.findFirstByOrderByIdAsc().isPresent()) {
+            return;
+        }
+        for (Object[] row : stockRepository.findAllQuantities()) {
+            Integer quantity = (Integer) row[1];
+            if (quantity != 0) {
+                recordMovement((Long) row[0], StockMovement.MovementType.OPENING_BALANCE, quantity, null);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<StockMovementDTO> getMovementsByItemId(Long itemId) {
+        return movementRepository.findByItemIdOrderByIdAsc(itemId).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    // Runs once the safety lag after midnight has passed, so late commits of the previous day are included
+    @Scheduled(cron = "${inventoryflow.stock.snapshot-cron:0 5 0 * * *}")
+    public void takeDailySnapshot() {
+        createSnapshot(LocalDate.now().minusDays(1));
+    }
+
+    public StockSnapshot createSnapshot(LocalDate date) {
+        Optional<StockSnapshot> existing = snapshotRepository.findFirstBySnapshotDateLessThanEqualOrderBySnapshotDateDesc(date);
+        if (existing.isPresent() && existing.get().getSnapshotDate().equals(date)) {
+            return existing.get();
+        }
+
+        LocalDateTime cutoff = coveredUntil(date);
+        if (LocalDateTime.now().isBefore(cutoff.plusMinutes(snapshotLagMinutes))) {
+            throw new RuntimeException("Snapshot of " + date + " can be taken from "
+                    + cutoff.plusMinutes(snapshotLagMinutes) + " on");
+        }
+
+        StockSnapshot previous = existing.orElse(null);
+        Map<Long, Integer> balances = previous != null ? getSnapshotQuantities(previous) : new HashMap<>();
+        LocalDateTime from = coveredUntil(existing);
+        long fromId = previous != null ? previous.getLastMovementId() : 0L;
+        Long maxId = movementRepository.findMaxIdCreatedBefore(cutoff);
+        long upToId = maxId != null ? Math.max(maxId, fromId) : fromId;
+
+        for (Object[] row : movementRepository.sumQuantityByItemCreatedBetween(from, cutoff)) {
+            balances.merge((Long) row[0], ((Number) row[1]).intValue(), Integer::sum);
+        }
+
+        StockSnapshot snapshot = new StockSnapshot();
+        snapshot.setSnapshotDate(date);
+        snapshot.setLastMovementId(upToId);
+        balances.forEach((itemId, quantity) -> {
+            if (quantity != 0) {
+                StockSnapshotLine line = new StockSnapshotLine();
+                line.setSnapshot(snapshot);
+                line.setItem(itemRepository.getReferenceById(itemId));
+                line.setQuantityOnHand(quantity);
+                snapshot.getLines().add(line);
+            }
+        });
+        return snapshotRepository.save(snapshot);
+    }
+
+    // Current balance of every item according to the ledger: latest snapshot plus movements since
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> getLedgerBalances() {
+        Optional<StockSnapshot> latest = snapshotRepository.findFirstByOrderBySnapshotDateDesc();
+        Map<Long, Integer> balances = latest.map(this::getSnapshotQuantities).orElseGet(HashMap::new);
+        for (Object[] row : movementRepository.sumQuantityByItemCreatedFrom(coveredUntil(latest))) {
+            balances.merge((Long) row[0], ((Number) row[1]).intValue(), Integer::sum);
+        }
+        return balances;
+    }
+
+    @Transactional(readOnly = true)
+    public List<StockDriftDTO> findDrift() {
+        Map<Long, Integer> ledger = getLedgerBalances();
+        List<StockDriftDTO> drift = new ArrayList<>();
+        for (Object[] row : stockRepository.findAllQuantities()) {
+            Long itemId = (Long) row[0];
+            Integer stockQuantity = (Integer) row[1];
+            Integer ledgerQuantity = ledger.getOrDefault(itemId, 0);
+            if (!stockQuantity.equals(ledgerQuantity)) {
+                drift.add(new StockDriftDTO(itemId, stockQuantity, ledgerQuantity));
+            }
+        }
+        return drift;
+    }
+
+    // Replays one item: its line in the latest snapshot plus its movements since
+    @Transactional(readOnly = true)
+    public Integer getLedgerBalance(Long itemId) {
+        Optional<StockSnapshot> latest = snapshotRepository.findFirstByOrderBySnapshotDateDesc();
+        int base = latest.flatMap(s -> snapshotRepository.findQuantity(s.getId(), itemId)).orElse(0);
+        return base + movementRepository.sumQuantityForItemCreatedFrom(itemId, coveredUntil(latest)).intValue();
+    }
+
+    // Resets the stocks projection of one item to its ledger balance. Stock moves
+    // update the row before writing their movement, so once the row is locked
+    // every move that changed it has committed its movement too.
+    public Integer rebuildStock(Long itemId) {
+        stockRepository.findByItemIdForUpdate(itemId)
+                .orElseThrow(() -> new RuntimeException("Stock not found for item"));
+        Integer balance = getLedgerBalance(itemId);
+        stockRepository.setQuantity(itemId, balance);
+        lowStockIndex.stockChanged(itemId);
+        reportDataVersion.changed();
+        return balance;
+    }
+
+    // Balances at the end of the given day: latest snapshot on or before it plus the movements recorded after it
+    @Transactional(readOnly = true)
+    public List<StockDTO> getStockAsOf(LocalDate date) {
+        Optional<StockSnapshot> snapshot = snapshotRepository.findFirstBySnapshotDateLessThanEqualOrderBySnapshotDateDesc(date);
+        Map<Long, Integer> balances = snapshot.map(this::getSnapshotQuantities).orElseGet(HashMap::new);
+        for (Object[] row : movementRepository.sumQuantityByItemCreatedBetween(coveredUntil(snapshot), coveredUntil(date))) {
+            balances.merge((Long) row[0], ((Number) row[1]).intValue(), Integer::sum);
+        }
+
+        return itemRepository.findAllWithCategory().stream()
+                .map(item -> convertToStockDTO(item, balances.getOrDefault(item.getId(), 0)))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public StockDTO getStockAsOfByItemId(Long itemId, LocalDate date) {
+        Item item = referenceDataCache.findItem(itemId)
+                .orElseThrow(() -> new RuntimeException("Item not found"));
+        Optional<StockSnapshot> snapshot = snapshotRepository.findFirstBySnapshotDateLessThanEqualOrderBySnapshotDateDesc(date);
+        int base = snapshot.flatMap(s -> snapshotRepository.findQuantity(s.getId(), itemId)).orElse(0);
+        Long delta = movementRepository.sumQuantityForItemCreatedBetween(itemId, coveredUntil(snapshot), coveredUntil(date));
+        return convertToStockDTO(item, base + delta.intValue());
+    }
+
+    // Movements created before this instant are in the snapshot's balances
+    private static LocalDateTime coveredUntil(LocalDate snapshotDate) {
+        return snapshotDate.plusDays(1).atStartOfDay();
+    }
+
+    private static LocalDateTime coveredUntil(Optional<StockSnapshot> snapshot) {
+        return snapshot.map(s -> coveredUntil(s.getSnapshotDate())).orElse(LEDGER_START);
+    }
+
+    private Map<Long, Integer> getSnapshotQuantities(StockSnapshot snapshot) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (Object[] row : snapshotRepository.findQuantitiesBySnapshotId(snapshot.getId())) {
+            quantities.put((Long) row[0], (Integer) row[1]);
+        }
+        return quantities;
+    }
+
+    // Historical quantities are valued at the item's current cost price
+    private StockDTO convertToStockDTO(Item item, Integer quantity) {
+        StockDTO dto = new StockDTO();
+        dto.setItemId(item.getId());
+        dto.setItemName(item.getName());
+        dto.setItemSku(item.getSku());
+        dto.setCategoryName(item.getCategory().getName());
+        dto.setQuantityOnHand(quantity);
+        dto.setUnitCostPrice(item.getCostPrice());
+        dto.setStockValue(item.getCostPrice().multiply(BigDecimal.valueOf(quantity)));
+        return dto;
+    }
+
+    private StockMovementDTO convertToDTO(StockMovement movement) {
+        StockMovementDTO dto = new StockMovementDTO();
+        dto.setId(movement.getId());
+        dto.setItemId(movement.getItem().getId());
+        dto.setMovementType(movement.getMovementType().name());
+        dto.setQuantity(movement.getQuantity());
+        dto.setReference(movement.getReference());
+        dto.setCreatedAt(movement.getCreatedAt());
+        return dto;
+    }
+}
@@ -1,9 +1,12 @@
 package com.InventoryFlow.InventoryFlow.service;
 
+import com.InventoryFlow.InventoryFlow.dto.PageQuery;
+import com.InventoryFlow.InventoryFlow.dto.PageResponse;
 import com.InventoryFlow.InventoryFlow.dto.StockDTO;
 import com.InventoryFlow.InventoryFlow.entity.Item;
 import com.InventoryFlow.InventoryFlow.entity.Stock;
 import com.InventoryFlow.InventoryFlow.entity.StockAdjustment;
+import com.InventoryFlow.InventoryFlow.entity.StockMovement;
 import com.InventoryFlow.InventoryFlow.entity.User;
 import com.InventoryFlow.InventoryFlow.repository.ItemRepository;
 import com.InventoryFlow.InventoryFlow.repository.StockAdjustmentRepository;
@@ -21,6 +24,14 @@ import java.util.stream.Collectors;
 @Transactional
 public class StockService {
 
+    private static final KeysetPager<Stock> PAGER = new KeysetPager<Stock>()
+            .sortable("itemName", "item.name", String.class)
+            .sortable("quantityOnHand", "quantityOnHand", Integer.class)
+            .filterable("itemName", "item.name", String.class)
+            .filterable("itemId", "item.id", Long.class)
+            .filterable("categoryId", "item.category.id", Long.class)
+            .fetch("item.category");
+
     @Autowired
     private StockRepository stockRepository;
 
@@ -33,12 +44,25 @@ public class StockService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private LowStockIndex lowStockIndex;
+
+    @Autowired
+    private InventoryCostingService inventoryCostingService;
+
     public List<StockDTO> getAllStocks() {
         return stockRepository.findAll().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    public PageResponse<StockDTO> getStocksPage(PageQuery query) {
+        return PAGER.page(stockRepository, query, this::convertToDTO);
+    }
+
     public StockDTO getStockByItemId(Long itemId) {
         Stock stock = stockRepository.findByItemId(itemId)
                 .orElseThrow(() -> new RuntimeException("Stock not found for item"));
@@ -46,10 +70,38 @@ public class StockService {
     }
 
     public void updateStock(Long itemId, Integer quantity) {
-        Stock stock = stockRepository.findByItemId(itemId)
-                .orElseThrow(() -> new RuntimeException("Stock not found"));
-        stock.setQuantityOnHand(stock.getQuantityOnHand() + quantity);
-        stockRepository.save(stock);
+        if (quantity >= 0) {
+            receiveStock(itemId, quantity, StockMovement.MovementType.ADJUSTMENT, null);
+        } else {
+            issueStock(itemId, -quantity, StockMovement.MovementType.ADJUSTMENT, null);
+        }
+    }
+
+    public void receiveStock(Long itemId, Integer quantity, StockMovement.MovementType type, String reference) {
+        receiveStock(itemId, quantity, null, type, reference);
+    }
+
+    // unitCost is the purchase cost for GRN receipts; other receipts are costed by the costing service
+    public void receiveStock(Long itemId, Integer quantity, BigDecimal unitCost,
+                             StockMovement.MovementType type, String reference) {
+        if (stockRepository.incrementQuantity(itemId, quantity) == 0) {
+            throw new RuntimeException("Stock not found for item");
+        }
+        stockLedgerService.recordMovement(itemId, type, quantity, reference);
+        inventoryCostingService.recordReceipt(itemId, quantity, unitCost, type, reference);
+        lowStockIndex.stockChanged(itemId);
+    }
+
+    public void issueStock(Long itemId, Integer quantity, StockMovement.MovementType type, String reference) {
+        // Conditional decrement: the row is only touched when enough stock is on hand
+        if (stockRepository.decrementQuantity(itemId, quantity) == 0) {
+            Stock stock = stockRepository.findByItemId(itemId)
+                    .orElseThrow(() -> new RuntimeException("Stock not found"));
+            throw new RuntimeException("Insufficient stock for item: " + stock.getItem().getName());
+        }
+        stockLedgerService.recordMovement(itemId, type, -quantity, reference);
+        inventoryCostingService.recordIssue(itemId, quantity, type, reference);
+        lowStockIndex.stockChanged(itemId);
     }
 
     public StockDTO adjustStock(Long itemId, Integer newQuantity, String reason, Long adjustedById) {
@@ -62,6 +114,11 @@ public class StockService {
         Integer previousQuantity = stock.getQuantityOnHand();
         Integer adjustedQuantity = newQuantity - previousQuantity;
 
+        // Only apply the adjustment if nobody moved the stock since it was read
+        if (stockRepository.compareAndSetQuantity(itemId, previousQuantity, newQuantity) == 0) {
+            throw new RuntimeException("Stock was changed by another transaction, please retry the adjustment");
+        }
+
         StockAdjustment adjustment = new StockAdjustment();
         adjustment.setItem(stock.getItem());
         adjustment.setPreviousQuantity(previousQuantity);
@@ -70,17 +127,26 @@ public class StockService {
         adjustment.setReason(reason);
         adjustment.setAdjustedBy(adjustedBy);
 
-        adjustmentRepository.save(adjustment);
-
-        stock.setQuantityOnHand(newQuantity);
-        Stock updated = stockRepository.save(stock);
-
-        return convertToDTO(updated);
+        StockAdjustment savedAdjustment = adjustmentRepository.save(adjustment);
+        stockLedgerService.recordMovement(itemId, StockMovement.MovementType.ADJUSTMENT, adjustedQuantity,
+                "ADJ-" + savedAdjustment.getId());
+        if (adjustedQuantity > 0) {
+            inventoryCostingService.recordReceipt(itemId, adjustedQuantity, null,
+                    StockMovement.MovementType.ADJUSTMENT, "ADJ-" + savedAdjustment.getId());
+        } else if (adjustedQuantity < 0) {
+            inventoryCostingService.recordIssue(itemId, -adjustedQuantity,
+                    StockMovement.MovementType.ADJUSTMENT, "ADJ-" + savedAdjustment.getId());
+        }
+        lowStockIndex.stockChanged(itemId);
+
+        StockDTO dto = convertToDTO(stock);
+        dto.setQuantityOnHand(newQuantity);
+        dto.setStockValue(stock.getItem().getCostPrice().multiply(BigDecimal.valueOf(newQuantity)));
+        return dto;
     }
 
     public BigDecimal getTotalStockValue() {
-        BigDecimal value = stockRepository.getTotalStockValue();
-        return value != null ? value : BigDecimal.ZERO;
+        return inventoryCostingService.getTotalStockValue();
     }
 
     private StockDTO convertToDTO(Stock stock) {
@@ -17,6 +17,15 @@ public class SupplierService {
     @Autowired
     private SupplierRepository supplierRepository;
 
+    @Autowired
+    private ReportDataVersion reportDataVersion;
+
+    @Autowired
+    private DocumentSearchIndex documentSearchIndex;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     public SupplierDTO createSupplier(SupplierDTO supplierDTO) {
         Supplier supplier = new Supplier();
         supplier.setName(supplierDTO.getName());
@@ -58,6 +67,9 @@ public class SupplierService {
         supplier.setActive(supplierDTO.getActive() != null && supplierDTO.getActive() == 1 ? 1 : 0);
 
         Supplier updated = supplierRepository.save(supplier);
+        reportDataVersion.changed();
+        documentSearchIndex.supplierChanged(updated.getId(), updated.getName());
+        referenceDataCache.supplierChanged(updated.getId());
         return convertToDTO(updated);
     }
 
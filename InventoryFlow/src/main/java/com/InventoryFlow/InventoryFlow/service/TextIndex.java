@@ -0,0 +1,128 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+/**
+ * Inverted word index used by the in-memory search indexes. Words are posted
+ * by trigram for substring lookups and kept in a sorted map for one- and
+ * two-letter prefixes. Lookups return candidate keys only; callers check each
+ * candidate against their own entry, which also drops trigram false positives.
+ * Writes are serialised; reads run against the concurrent posting maps.
+ */
+class TextIndex<K> {
+
+    private static final int GRAM = 3;
+
+    private final Map<String, Set<K>> grams = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Set<K>> words = new ConcurrentSkipListMap<>();
+
+    synchronized void add(K key, Collection<String> keyWords) {
+        for (String word : keyWords) {
+            words.computeIfAbsent(word, w -> ConcurrentHashMap.newKeySet()).add(key);
+            for (String gram : grams(word)) {
+                grams.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(key);
+            }
+        }
+    }
+
+    synchronized void remove(K key, Collection<String> keyWords) {
+        for (String word : keyWords) {
+            removePosting(words, word, key);
+            for (String gram : grams(word)) {
+                removePosting(grams, gram, key);
+            }
+        }
+    }
+
+    synchronized void clear() {
+        grams.clear();
+        words.clear();
+    }
+
+    int gramCount() {
+        return grams.size();
+    }
+
+    // Keys whose words contain every term; short terms match word prefixes
+    Set<K> find(List<String> terms) {
+        Set<K> candidates = null;
+        for (String term : terms) {
+            Set<K> keys = term.length() < GRAM ? prefixCandidates(term) : gramCandidates(term);
+            candidates = candidates == null ? keys : intersect(candidates, keys);
+            if (candidates.isEmpty()) {
+                break;
+            }
+        }
+        return candidates != null ? candidates : Set.of();
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    static boolean startsAny(List<String> words, String term) {
+        return words.stream().anyMatch(word -> word.startsWith(term));
+    }
+
+    static boolean containsAny(List<String> words, String term) {
+        return words.stream().anyMatch(word -> word.contains(term));
+    }
+
+    private Set<K> prefixCandidates(String prefix) {
+        Set<K> keys = new HashSet<>();
+        for (Set<K> posting : words.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+            keys.addAll(posting);
+        }
+        return keys;
+    }
+
+    // Every trigram of the term must occur; the smallest posting list is scanned first
+    private Set<K> gramCandidates(String term) {
+        List<Set<K>> postings = new ArrayList<>();
+        for (String gram : grams(term)) {
+            Set<K> keys = grams.get(gram);
+            if (keys == null) {
+                return Set.of();
+            }
+            postings.add(keys);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+        Set<K> result = new HashSet<>(postings.get(0));
+        for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+            result.retainAll(postings.get(i));
+        }
+        return result;
+    }
+
+    private static <K> Set<K> intersect(Set<K> a, Set<K> b) {
+        Set<K> result = new HashSet<>(a.size() <= b.size() ? a : b);
+        result.retainAll(a.size() <= b.size() ? b : a);
+        return result;
+    }
+
+    private static <K> void removePosting(Map<String, Set<K>> postings, String word, K key) {
+        Set<K> keys = postings.get(word);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                postings.remove(word);
+            }
+        }
+    }
+
+    private static Set<String> grams(String word) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM <= word.length(); i++) {
+            result.add(word.substring(i, i + GRAM));
+        }
+        return result;
+    }
+}
@@ -3,8 +3,9 @@ package com.InventoryFlow.InventoryFlow.service;
 import com.InventoryFlow.InventoryFlow.dto.UserDTO;
 import com.InventoryFlow.InventoryFlow.entity.Role;
 import com.InventoryFlow.InventoryFlow.entity.User;
-import com.InventoryFlow.InventoryFlow.repository.RoleRepository;
 import com.InventoryFlow.InventoryFlow.repository.UserRepository;
+import com.InventoryFlow.InventoryFlow.security.PrincipalCache;
+import com.InventoryFlow.InventoryFlow.security.TokenRevocationList;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -21,10 +22,16 @@ public class UserService {
     private UserRepository userRepository;
 
     @Autowired
-    private RoleRepository roleRepository;
+    private PasswordEncoder passwordEncoder;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenRevocationList revocationList;
 
     public UserDTO createUser(UserDTO userDTO) {
         if (userRepository.existsByUsername(userDTO.getUsername())) {
@@ -34,7 +41,7 @@ public class UserService {
             throw new RuntimeException("Email already exists");
         }
 
-        Role role = roleRepository.findById(userDTO.getRoleId())
+        Role role = referenceDataCache.findRole(userDTO.getRoleId())
                 .orElseThrow(() -> new RuntimeException("Role not found"));
 
         User user = new User();
@@ -74,22 +81,39 @@ public class UserService {
             throw new RuntimeException("Username already exists");
         }
 
+        String previousUsername = user.getUsername();
+        boolean wasActive = user.isActive();
+
         user.setUsername(userDTO.getUsername());
         user.setEmail(userDTO.getEmail());
         user.setFullName(userDTO.getFullName());
         user.setActive(userDTO.isActive());
 
         // Update password only if provided
-        if (userDTO.getPassword() != null && !userDTO.getPassword().trim().isEmpty()) {
+        boolean passwordChanged = userDTO.getPassword() != null && !userDTO.getPassword().trim().isEmpty();
+        if (passwordChanged) {
             user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
         }
 
-        if (!user.getRole().getId().equals(userDTO.getRoleId())) {
-            Role role = roleRepository.findById(userDTO.getRoleId())
+        boolean roleChanged = !user.getRole().getId().equals(userDTO.getRoleId());
+        if (roleChanged) {
+            Role role = referenceDataCache.findRole(userDTO.getRoleId())
                     .orElseThrow(() -> new RuntimeException("Role not found"));
             user.setRole(role);
         }
 
+        // Cached principals carry the role, active flag and password of the user
+        boolean usernameChanged = !previousUsername.equals(user.getUsername());
+        boolean authChanged = usernameChanged || wasActive != user.isActive() || roleChanged || passwordChanged;
+        if (authChanged) {
+            principalCache.userChanged(previousUsername);
+            principalCache.userChanged(user.getUsername());
+        }
+        // Stateless tokens carry the username and role, so existing tokens must not outlive these changes
+        if (usernameChanged || roleChanged || passwordChanged || (wasActive && !user.isActive())) {
+            revocationList.revokeUser(user.getId());
+        }
+
         User updatedUser = userRepository.save(user);
         return convertToDTO(updatedUser);
     }
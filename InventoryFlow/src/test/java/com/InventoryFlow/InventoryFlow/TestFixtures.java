@@ -0,0 +1,88 @@
+package com.InventoryFlow.InventoryFlow;
+
+import com.InventoryFlow.InventoryFlow.dto.CategoryDTO;
+import com.InventoryFlow.InventoryFlow.dto.ItemDTO;
+import com.InventoryFlow.InventoryFlow.repository.UserRepository;
+import com.InventoryFlow.InventoryFlow.service.CategoryService;
+import com.InventoryFlow.InventoryFlow.service.ItemService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Reference data shared by the service tests. The tests share one context and
+ * database and are not rolled back, so every name and SKU is unique.
+ */
+@Component
+public class TestFixtures {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    public Long createCategory() {
+        CategoryDTO category = new CategoryDTO();
+        category.setName("Test category " + UUID.randomUUID());
+        category.setActive(1);
+        return categoryService.createCategory(category).getId();
+    }
+
+    // An active item costing 1 and selling for 10, for the caller to adjust before createItem
+    public ItemDTO newItem(Long categoryId) {
+        ItemDTO item = new ItemDTO();
+        item.setName("Test item");
+        item.setSku("TST-" + UUID.randomUUID());
+        item.setCategoryId(categoryId);
+        item.setUnit("pcs");
+        item.setCostPrice(BigDecimal.ONE);
+        item.setSellingPrice(BigDecimal.TEN);
+        item.setReorderLevel(0);
+        item.setActive(1);
+        return item;
+    }
+
+    public Long createItem(ItemDTO item) {
+        return itemService.createItem(item).getId();
+    }
+
+    // A default item in a category of its own
+    public Long createItem() {
+        return createItem(newItem(createCategory()));
+    }
+
+    public Long adminId() {
+        return userRepository.findByUsername("admin").orElseThrow().getId();
+    }
+
+    // Releases all tasks at once on a pool of 8 and rethrows the first failure
+    public void runConcurrently(int tasks, Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < tasks; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.InventoryFlow.InventoryFlow.security;
+
+import com.InventoryFlow.InventoryFlow.dto.LoginRequest;
+import com.InventoryFlow.InventoryFlow.dto.UserDTO;
+import com.InventoryFlow.InventoryFlow.entity.Role;
+import com.InventoryFlow.InventoryFlow.repository.RoleRepository;
+import com.InventoryFlow.InventoryFlow.service.AuthService;
+import com.InventoryFlow.InventoryFlow.service.UserService;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TokenRevocationListTest {
+
+    private static final String PASSWORD = "secret123";
+
+    @Autowired
+    private TokenRevocationList revocationList;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Test
+    void logoutRevokesOnlyThatToken() {
+        UserDTO user = createUser();
+        String first = login(user.getUsername());
+        String second = login(user.getUsername());
+
+        authService.logout(first);
+
+        assertTrue(isRevoked(first));
+        assertFalse(isRevoked(second));
+    }
+
+    @Test
+    void userChangesRevokeExistingTokens() {
+        UserDTO renamed = createUser();
+        String renamedToken = login(renamed.getUsername());
+        renamed.setUsername(renamed.getUsername() + "-new");
+        userService.updateUser(renamed.getId(), renamed);
+
+        UserDTO deactivated = createUser();
+        String deactivatedToken = login(deactivated.getUsername());
+        deactivated.setActive(false);
+        userService.updateUser(deactivated.getId(), deactivated);
+
+        UserDTO unchanged = createUser();
+        String unchangedToken = login(unchanged.getUsername());
+        unchanged.setFullName("Only the name changed");
+        userService.updateUser(unchanged.getId(), unchanged);
+
+        assertTrue(isRevoked(renamedToken));
+        assertTrue(isRevoked(deactivatedToken));
+        assertFalse(isRevoked(unchangedToken));
+    }
+
+    @Test
+    void revocationsSurviveARebuild() {
+        UserDTO user = createUser();
+        String loggedOut = login(user.getUsername());
+        authService.logout(loggedOut);
+        UserDTO renamed = createUser();
+        String renamedToken = login(renamed.getUsername());
+        renamed.setUsername(renamed.getUsername() + "-new");
+        userService.updateUser(renamed.getId(), renamed);
+
+        revocationList.rebuild();
+
+        assertTrue(isRevoked(loggedOut));
+        assertTrue(isRevoked(renamedToken));
+    }
+
+    @Test
+    void tokenIssuedAfterAUserRevocationIsAccepted() throws InterruptedException {
+        UserDTO user = createUser();
+        String before = login(user.getUsername());
+        user.setPassword("changed123");
+        userService.updateUser(user.getId(), user);
+
+        // Issue times have second precision; tokens from the revocation's second are rejected too
+        Thread.sleep(1100);
+        LoginRequest request = new LoginRequest();
+        request.setUsername(user.getUsername());
+        request.setPassword("changed123");
+        String after = authService.login(request).getToken();
+
+        assertTrue(isRevoked(before));
+        assertFalse(isRevoked(after));
+    }
+
+    private boolean isRevoked(String token) {
+        Claims claims = jwtUtil.parseToken(token);
+        return revocationList.isRevoked(claims.getId(), jwtUtil.getUserId(claims), claims.getIssuedAt());
+    }
+
+    private String login(String username) {
+        LoginRequest request = new LoginRequest();
+        request.setUsername(username);
+        request.setPassword(PASSWORD);
+        return authService.login(request).getToken();
+    }
+
+    private UserDTO createUser() {
+        String name = "revoke-" + UUID.randomUUID().toString().substring(0, 8);
+        UserDTO user = new UserDTO();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setFullName("Revocation test user");
+        user.setActive(true);
+        user.setRoleId(roleRepository.findByName(Role.RoleType.STAFF).orElseThrow().getId());
+        user.setPassword(PASSWORD);
+        UserDTO created = userService.createUser(user);
+        created.setPassword(null);
+        return created;
+    }
+}
@@ -0,0 +1,135 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import com.InventoryFlow.InventoryFlow.TestFixtures;
+import com.InventoryFlow.InventoryFlow.dto.SalesOrderDTO;
+import com.InventoryFlow.InventoryFlow.dto.SalesOrderLineDTO;
+import com.InventoryFlow.InventoryFlow.entity.SalesOrder;
+import com.InventoryFlow.InventoryFlow.repository.DocumentSequenceRepository;
+import com.InventoryFlow.InventoryFlow.repository.SalesOrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BlockDocumentNumberAllocatorTest {
+
+    private static final AtomicInteger PREFIXES = new AtomicInteger();
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DocumentSequenceRepository sequenceRepository;
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private SalesOrderRepository salesOrderRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void numbersAreSequentialWithinABlockAndAcrossBlocks() {
+        BlockDocumentNumberAllocator allocator = newNode(3);
+        String prefix = nextPrefix();
+        String date = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+
+        for (int i = 1; i <= 7; i++) {
+            assertEquals(String.format("%s-%s-%05d", prefix, date, i), allocator.nextNumber(prefix));
+        }
+        // Three blocks of three reserved so far
+        assertEquals(10L, sequenceRepository.findNextValue(prefix, LocalDate.now()).orElseThrow());
+    }
+
+    @Test
+    void firstBlockOfTheDayStartsAboveNumbersAlreadyIssued() {
+        String prefix = nextPrefix();
+        String date = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        // A number the count-based generator handed out earlier the same day
+        SalesOrder existing = salesOrderRepository.findById(createSalesOrder().getId()).orElseThrow();
+        existing.setSoNumber(String.format("%s-%s-%05d", prefix, date, 42));
+        salesOrderRepository.save(existing);
+
+        BlockDocumentNumberAllocator allocator = newNode(3);
+        assertEquals(String.format("%s-%s-%05d", prefix, date, 43), allocator.nextNumber(prefix));
+        assertEquals(String.format("%s-%s-%05d", prefix, date, 44), allocator.nextNumber(prefix));
+    }
+
+    @Test
+    void nodesNeverHandOutTheSameNumberUnderContention() throws Exception {
+        // Two allocators sharing the sequence table stand in for two application nodes
+        List<BlockDocumentNumberAllocator> nodes = List.of(newNode(3), newNode(3));
+        String prefix = nextPrefix();
+        int threads = 8;
+        int perThread = 40;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                BlockDocumentNumberAllocator node = nodes.get(t % nodes.size());
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<String> numbers = new ArrayList<>();
+                    for (int i = 0; i < perThread; i++) {
+                        numbers.add(node.nextNumber(prefix));
+                    }
+                    return numbers;
+                }));
+            }
+            start.countDown();
+
+            Set<String> unique = new HashSet<>();
+            for (Future<List<String>> future : futures) {
+                for (String number : future.get(60, TimeUnit.SECONDS)) {
+                    assertTrue(unique.add(number), "Duplicate document number " + number);
+                }
+            }
+            assertEquals(threads * perThread, unique.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private BlockDocumentNumberAllocator newNode(long blockSize) {
+        BlockDocumentNumberAllocator allocator = new BlockDocumentNumberAllocator(transactionManager);
+        ReflectionTestUtils.setField(allocator, "sequenceRepository", sequenceRepository);
+        ReflectionTestUtils.setField(allocator, "blockSize", blockSize);
+        return allocator;
+    }
+
+    private SalesOrderDTO createSalesOrder() {
+        SalesOrderLineDTO line = new SalesOrderLineDTO();
+        line.setItemId(fixtures.createItem());
+        line.setQuantity(1);
+        line.setUnitPrice(BigDecimal.TEN);
+
+        SalesOrderDTO so = new SalesOrderDTO();
+        so.setCustomerName("Numbering test customer");
+        so.setStatus("DRAFT");
+        so.setCreatedById(fixtures.adminId());
+        so.setOrderLines(List.of(line));
+        return salesOrderService.createSalesOrder(so);
+    }
+
+    // Fresh prefix per test, so the first block of the day is reserved inside the test
+    private static String nextPrefix() {
+        return "T" + PREFIXES.incrementAndGet() + "X" + (System.nanoTime() % 10000);
+    }
+}
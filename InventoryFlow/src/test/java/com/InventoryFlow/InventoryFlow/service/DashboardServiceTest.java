@@ -0,0 +1,51 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import com.InventoryFlow.InventoryFlow.dto.DashboardDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DashboardServiceTest {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Test
+    void allPartsAreFilledWithinTheDeadline() {
+        DashboardDTO dashboard = dashboardService.getDashboardData();
+
+        assertEquals(List.of(), dashboard.getUnavailableParts());
+        assertNotNull(dashboard.getTotalItems());
+        assertNotNull(dashboard.getStockValue());
+        assertNotNull(dashboard.getMonthlySales());
+        assertEquals(12, dashboard.getMonthlySalesData().size());
+    }
+
+    @Test
+    void partsMissingTheDeadlineAreReportedInsteadOfFailingTheDashboard() {
+        DashboardService target = AopTestUtils.getTargetObject(dashboardService);
+        long timeout = (long) ReflectionTestUtils.getField(target, "partTimeoutMs");
+        ReflectionTestUtils.setField(target, "partTimeoutMs", 0L);
+        try {
+            DashboardDTO dashboard = dashboardService.getDashboardData();
+
+            assertTrue(dashboard.getUnavailableParts().containsAll(
+                    List.of("totalItems", "totalSuppliers", "stockValue", "monthlySales", "monthlyPurchases")),
+                    dashboard.getUnavailableParts()::toString);
+            assertNull(dashboard.getTotalItems());
+            assertNull(dashboard.getMonthlySales());
+            assertNull(dashboard.getMonthlySalesData().get(0).getSales());
+        } finally {
+            ReflectionTestUtils.setField(target, "partTimeoutMs", timeout);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import com.InventoryFlow.InventoryFlow.TestFixtures;
+import com.InventoryFlow.InventoryFlow.dto.*;
+import com.InventoryFlow.InventoryFlow.entity.CostEntry;
+import com.InventoryFlow.InventoryFlow.entity.CostLayer;
+import com.InventoryFlow.InventoryFlow.entity.ItemCost;
+import com.InventoryFlow.InventoryFlow.entity.StockMovement;
+import com.InventoryFlow.InventoryFlow.repository.CostEntryRepository;
+import com.InventoryFlow.InventoryFlow.repository.CostLayerRepository;
+import com.InventoryFlow.InventoryFlow.repository.ItemCostRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class InventoryCostingServiceTest {
+
+    @Autowired
+    private InventoryCostingService inventoryCostingService;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private GoodsIssueNoteService goodsIssueNoteService;
+
+    @Autowired
+    private InvoiceService invoiceService;
+
+    @Autowired
+    private ItemCostRepository itemCostRepository;
+
+    @Autowired
+    private CostLayerRepository costLayerRepository;
+
+    @Autowired
+    private CostEntryRepository costEntryRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void newItemGetsItsCostRecordWithTheItem() {
+        Long itemId = createItem(new BigDecimal("4.50"));
+
+        ItemCost itemCost = itemCostRepository.findById(itemId).orElseThrow();
+        assertEquals(0, itemCost.getQuantityOnHand());
+        assertAmount("4.50", itemCost.getAverageCost());
+        assertAmount("0", itemCost.getFifoValue());
+    }
+
+    @Test
+    void issueLargerThanTheFirstLayerConsumesLayersOldestFirst() {
+        Long itemId = createItem(BigDecimal.ONE);
+        receive(itemId, 10, "2");
+        receive(itemId, 10, "3");
+        receive(itemId, 10, "5");
+
+        issue(itemId, 15, "GIN-FIFO-1");
+        assertAmount("35", issueEntry(itemId, "GIN-FIFO-1").getFifoCost()); // 10 x 2 + 5 x 3
+        assertLayers(itemId, "5@3", "10@5");
+
+        issue(itemId, 8, "GIN-FIFO-2");
+        assertAmount("30", issueEntry(itemId, "GIN-FIFO-2").getFifoCost()); // 5 x 3 + 3 x 5
+        assertLayers(itemId, "7@5");
+        assertAmount("35", itemCostRepository.findById(itemId).orElseThrow().getFifoValue());
+    }
+
+    @Test
+    void reversalReturnsStockToTheLayersItCameFrom() {
+        Long itemId = createItem(BigDecimal.ONE);
+        receive(itemId, 10, "2");
+        receive(itemId, 10, "3");
+        issue(itemId, 15, "GIN-REV-1");
+        receive(itemId, 10, "7");
+        assertLayers(itemId, "5@3", "10@7");
+
+        // The units taken last come back first
+        reverse(itemId, 3, "GIN-REV-1");
+        assertLayers(itemId, "8@3", "10@7");
+        CostEntry entry = issueEntry(itemId, "GIN-REV-1");
+        assertEquals(12, entry.getQuantity());
+        assertAmount("26", entry.getFifoCost());
+
+        // The rest goes back ahead of the later receipt, in its original order
+        reverse(itemId, 12, "GIN-REV-1");
+        assertLayers(itemId, "10@2", "10@3", "10@7");
+        assertTrue(costEntryRepository.findByReferenceAndItemIdAndMovementTypeOrderByIdDesc(
+                "GIN-REV-1", itemId, StockMovement.MovementType.GIN_ISSUE).isEmpty());
+
+        ItemCost itemCost = itemCostRepository.findById(itemId).orElseThrow();
+        assertEquals(30, itemCost.getQuantityOnHand());
+        assertAmount("120", itemCost.getFifoValue());
+
+        // The next issue is costed from the restored oldest layer
+        issue(itemId, 10, "GIN-REV-2");
+        assertAmount("20", issueEntry(itemId, "GIN-REV-2").getFifoCost());
+    }
+
+    @Test
+    void movingAverageIsRecomputedOnEveryReceipt() {
+        Long itemId = createItem(BigDecimal.ONE);
+        receive(itemId, 10, "2");
+        assertAmount("2", itemCostRepository.findById(itemId).orElseThrow().getAverageCost());
+
+        receive(itemId, 30, "4");
+        assertAmount("3.5", itemCostRepository.findById(itemId).orElseThrow().getAverageCost()); // (20 + 120) / 40
+
+        issue(itemId, 10, "GIN-AVG-1");
+        assertAmount("35", issueEntry(itemId, "GIN-AVG-1").getAverageCost());
+        assertAmount("3.5", itemCostRepository.findById(itemId).orElseThrow().getAverageCost());
+
+        receive(itemId, 10, "6");
+        ItemCost itemCost = itemCostRepository.findById(itemId).orElseThrow();
+        assertAmount("4.125", itemCost.getAverageCost()); // (30 x 3.5 + 60) / 40
+        assertEquals(40, itemCost.getQuantityOnHand());
+    }
+
+    @Test
+    void costOfSalesCountsIssuesOfInvoicedOrdersOnly() {
+        Long itemId = createItem(BigDecimal.ONE);
+        receive(itemId, 10, "2");
+        receive(itemId, 10, "4");
+        // A date no other test uses, so the range holds only these orders
+        LocalDate orderDate = LocalDate.of(1990, 1, 1).plusDays(ThreadLocalRandom.current().nextInt(3000));
+
+        SalesOrderDTO invoiced = createSalesOrder(itemId, 12, orderDate);
+        issueForOrder(invoiced, itemId, 12);
+        InvoiceDTO invoice = new InvoiceDTO();
+        invoice.setCreatedById(fixtures.adminId());
+        invoice.setDueDate(orderDate.plusDays(30));
+        invoice.setPaymentStatus("PENDING");
+        invoiceService.createInvoiceFromSO(invoiced.getId(), invoice);
+
+        SalesOrderDTO notInvoiced = createSalesOrder(itemId, 5, orderDate);
+        issueForOrder(notInvoiced, itemId, 5);
+
+        // FIFO: 10 x 2 + 2 x 4; average: 12 x 3
+        assertAmount("28", inventoryCostingService.getCostOfSales(orderDate, orderDate));
+        InventoryCostingService target = AopTestUtils.getTargetObject(inventoryCostingService);
+        ReflectionTestUtils.setField(target, "costingMethod", InventoryCostingService.CostingMethod.AVERAGE);
+        try {
+            assertAmount("36", inventoryCostingService.getCostOfSales(orderDate, orderDate));
+        } finally {
+            ReflectionTestUtils.setField(target, "costingMethod", InventoryCostingService.CostingMethod.FIFO);
+        }
+    }
+
+    private void receive(Long itemId, int quantity, String unitCost) {
+        stockService.receiveStock(itemId, quantity, new BigDecimal(unitCost),
+                StockMovement.MovementType.GRN_RECEIPT, "GRN-TEST");
+    }
+
+    private void issue(Long itemId, int quantity, String ginNumber) {
+        stockService.issueStock(itemId, quantity, StockMovement.MovementType.GIN_ISSUE, ginNumber);
+    }
+
+    private void reverse(Long itemId, int quantity, String ginNumber) {
+        stockService.receiveStock(itemId, quantity, StockMovement.MovementType.GIN_REVERSAL, ginNumber);
+    }
+
+    private CostEntry issueEntry(Long itemId, String ginNumber) {
+        List<CostEntry> entries = costEntryRepository.findByReferenceAndItemIdAndMovementTypeOrderByIdDesc(
+                ginNumber, itemId, StockMovement.MovementType.GIN_ISSUE);
+        assertEquals(1, entries.size());
+        return entries.get(0);
+    }
+
+    // Open layers oldest first, as quantity@unitCost
+    private void assertLayers(Long itemId, String... expected) {
+        List<String> layers = costLayerRepository.findOpenLayers(itemId).stream()
+                .map(this::describe)
+                .collect(Collectors.toList());
+        assertEquals(List.of(expected), layers);
+    }
+
+    private String describe(CostLayer layer) {
+        return layer.getQuantityRemaining() + "@" + layer.getUnitCost().stripTrailingZeros().toPlainString();
+    }
+
+    private static void assertAmount(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), () -> "expected " + expected + " but was " + actual);
+    }
+
+    private SalesOrderDTO createSalesOrder(Long itemId, int quantity, LocalDate orderDate) {
+        SalesOrderLineDTO line = new SalesOrderLineDTO();
+        line.setItemId(itemId);
+        line.setQuantity(quantity);
+        line.setUnitPrice(BigDecimal.TEN);
+
+        SalesOrderDTO so = new SalesOrderDTO();
+        so.setOrderDate(orderDate);
+        so.setCustomerName("Costing test customer");
+        so.setStatus("CONFIRMED");
+        so.setCreatedById(fixtures.adminId());
+        so.setOrderLines(List.of(line));
+        return salesOrderService.createSalesOrder(so);
+    }
+
+    private void issueForOrder(SalesOrderDTO so, Long itemId, int quantity) {
+        GINLineDTO line = new GINLineDTO();
+        line.setItemId(itemId);
+        line.setQuantityOrdered(quantity);
+        line.setQuantityIssued(quantity);
+        line.setUnitPrice(BigDecimal.TEN);
+
+        GoodsIssueNoteDTO gin = new GoodsIssueNoteDTO();
+        gin.setIssuedById(fixtures.adminId());
+        gin.setGinLines(List.of(line));
+        goodsIssueNoteService.createGINFromSO(so.getId(), gin);
+    }
+
+    private Long createItem(BigDecimal costPrice) {
+        ItemDTO item = fixtures.newItem(fixtures.createCategory());
+        item.setCostPrice(costPrice);
+        return fixtures.createItem(item);
+    }
+}
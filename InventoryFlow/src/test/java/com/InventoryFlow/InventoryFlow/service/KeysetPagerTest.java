@@ -0,0 +1,138 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import com.InventoryFlow.InventoryFlow.TestFixtures;
+import com.InventoryFlow.InventoryFlow.dto.ItemDTO;
+import com.InventoryFlow.InventoryFlow.dto.PageQuery;
+import com.InventoryFlow.InventoryFlow.dto.PageResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Exercised through the item list, which pages with a KeysetPager
+@SpringBootTest
+@ActiveProfiles("test")
+class KeysetPagerTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void cursorWalksDescendingSortWithTiesWithoutSkipsOrRepeats() {
+        Long categoryId = fixtures.createCategory();
+        Long b1 = createItem(categoryId, "B");
+        Long a = createItem(categoryId, "A|pipe");
+        Long b2 = createItem(categoryId, "B");
+        Long c = createItem(categoryId, "C");
+        Long b3 = createItem(categoryId, "B");
+
+        // Name descending, ties broken by id descending; pages of two split the run of B's
+        List<Long> ids = walk(categoryId, "name,desc", 2);
+        assertEquals(List.of(c, b3, b2, b1, a), ids);
+    }
+
+    @Test
+    void cursorWalksAscendingDateTimeSort() {
+        Long categoryId = fixtures.createCategory();
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(createItem(categoryId, "Item " + i));
+        }
+
+        assertEquals(created, walk(categoryId, "createdAt,asc", 2));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        Long categoryId = fixtures.createCategory();
+        createItem(categoryId, "Only");
+
+        PageResponse<ItemDTO> page = itemService.getItemsPage(new PageQuery(5, null, "name", "categoryId:" + categoryId));
+        assertEquals(1, page.getItems().size());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void cursorIsBoundToItsSort() {
+        Long categoryId = fixtures.createCategory();
+        createItem(categoryId, "X");
+        createItem(categoryId, "Y");
+        String cursor = itemService.getItemsPage(new PageQuery(1, null, "name", "categoryId:" + categoryId)).getNextCursor();
+
+        RuntimeException otherField = assertThrows(RuntimeException.class,
+                () -> itemService.getItemsPage(new PageQuery(1, cursor, "sku", "categoryId:" + categoryId)));
+        assertEquals("Cursor does not match the requested sort", otherField.getMessage());
+
+        RuntimeException otherDirection = assertThrows(RuntimeException.class,
+                () -> itemService.getItemsPage(new PageQuery(1, cursor, "name,desc", "categoryId:" + categoryId)));
+        assertEquals("Cursor does not match the requested sort", otherDirection.getMessage());
+    }
+
+    @Test
+    void cursorIsBoundToItsFilter() {
+        Long categoryId = fixtures.createCategory();
+        createItem(categoryId, "X");
+        createItem(categoryId, "Y");
+        String cursor = itemService.getItemsPage(new PageQuery(1, null, "name", "categoryId:" + categoryId)).getNextCursor();
+
+        RuntimeException otherFilter = assertThrows(RuntimeException.class,
+                () -> itemService.getItemsPage(new PageQuery(1, cursor, "name", "categoryId:" + fixtures.createCategory())));
+        assertEquals("Cursor does not match the requested filter", otherFilter.getMessage());
+
+        RuntimeException noFilter = assertThrows(RuntimeException.class,
+                () -> itemService.getItemsPage(new PageQuery(1, cursor, "name", null)));
+        assertEquals("Cursor does not match the requested filter", noFilter.getMessage());
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        RuntimeException notBase64 = assertThrows(RuntimeException.class,
+                () -> itemService.getItemsPage(new PageQuery(1, "not base64!", "name", null)));
+        assertEquals("Invalid cursor", notBase64.getMessage());
+
+        // A real cursor with its id replaced
+        Long categoryId = fixtures.createCategory();
+        createItem(categoryId, "A");
+        createItem(categoryId, "B");
+        String filter = "categoryId:" + categoryId;
+        String[] parts = new String(Base64.getUrlDecoder().decode(
+                itemService.getItemsPage(new PageQuery(1, null, "name", filter)).getNextCursor()),
+                StandardCharsets.UTF_8).split("\\|", 4);
+        parts[2] = "x";
+        String badId = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join("|", parts).getBytes(StandardCharsets.UTF_8));
+        RuntimeException notAnId = assertThrows(RuntimeException.class,
+                () -> itemService.getItemsPage(new PageQuery(1, badId, "name", filter)));
+        assertEquals("Invalid cursor", notAnId.getMessage());
+    }
+
+    private List<Long> walk(Long categoryId, String sort, int limit) {
+        List<Long> ids = new ArrayList<>();
+        String after = null;
+        do {
+            PageResponse<ItemDTO> page = itemService.getItemsPage(
+                    new PageQuery(limit, after, sort, "categoryId:" + categoryId));
+            page.getItems().forEach(item -> ids.add(item.getId()));
+            assertEquals(page.isHasMore(), page.getNextCursor() != null);
+            after = page.getNextCursor();
+        } while (after != null);
+        return ids;
+    }
+
+    private Long createItem(Long categoryId, String name) {
+        ItemDTO item = fixtures.newItem(categoryId);
+        item.setName(name);
+        return fixtures.createItem(item);
+    }
+}
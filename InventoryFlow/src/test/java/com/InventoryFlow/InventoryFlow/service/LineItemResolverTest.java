@@ -0,0 +1,73 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import com.InventoryFlow.InventoryFlow.TestFixtures;
+import com.InventoryFlow.InventoryFlow.dto.ItemDTO;
+import com.InventoryFlow.InventoryFlow.entity.Item;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LineItemResolverTest {
+
+    @Autowired
+    private LineItemResolver lineItemResolver;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void resolvesAllItemsOfTheLines() {
+        Long first = createItem("Bolt", 1);
+        Long second = createItem("Nut", 1);
+
+        Map<Long, Item> items = lineItemResolver.resolveActiveItems(List.of(first, second, first), "GIN");
+
+        assertEquals(2, items.size());
+        assertEquals("Bolt", items.get(first).getName());
+        assertEquals("Nut", items.get(second).getName());
+    }
+
+    @Test
+    void reportsMissingAndInactiveItemsTogether() {
+        Long active = createItem("Bolt", 1);
+        Long inactive = createItem("Retired washer", 0);
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> lineItemResolver.resolveActiveItems(List.of(active, inactive, -1L, -2L), "GIN"));
+
+        assertEquals("Item not found: -1, -2; Item 'Retired washer' is inactive and cannot be used in GIN",
+                e.getMessage());
+    }
+
+    @Test
+    void stockCheckSumsQuantitiesPerItem() {
+        Long bolt = createItem("Bolt", 1);
+        Long nut = createItem("Nut", 1);
+        stockService.updateStock(bolt, 5);
+        stockService.updateStock(nut, 5);
+        Map<Long, Item> items = lineItemResolver.resolveActiveItems(List.of(bolt, nut), "GIN");
+
+        assertDoesNotThrow(() -> lineItemResolver.checkStockAvailable(Map.of(bolt, 5, nut, 3), items));
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> lineItemResolver.checkStockAvailable(Map.of(bolt, 6, nut, 3), items));
+        assertEquals("Insufficient stock for item: Bolt", e.getMessage());
+    }
+
+    private Long createItem(String name, int active) {
+        ItemDTO item = fixtures.newItem(fixtures.createCategory());
+        item.setName(name);
+        item.setActive(active);
+        return fixtures.createItem(item);
+    }
+}
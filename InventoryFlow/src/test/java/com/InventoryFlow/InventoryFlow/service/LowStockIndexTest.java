@@ -0,0 +1,84 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import com.InventoryFlow.InventoryFlow.TestFixtures;
+import com.InventoryFlow.InventoryFlow.dto.ItemDTO;
+import com.InventoryFlow.InventoryFlow.dto.LowStockItemDTO;
+import com.InventoryFlow.InventoryFlow.entity.StockMovement;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LowStockIndexTest {
+
+    @Autowired
+    private LowStockIndex lowStockIndex;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void reloadBetweenCommitAndUpdateDoesNotCountTheMoveTwice() {
+        Long itemId = createItem(100);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // Registered first, so it runs after the commit but before the index's own update
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lowStockIndex.reconcile();
+                }
+            });
+            stockService.receiveStock(itemId, 10, StockMovement.MovementType.GRN_RECEIPT, "GRN-TEST");
+        });
+
+        assertEquals(10, indexedQuantity(itemId));
+    }
+
+    @Test
+    void indexMatchesStockWhileReloadsRaceStockMoves() throws Exception {
+        Long itemId = createItem(1000);
+
+        AtomicInteger task = new AtomicInteger();
+        fixtures.runConcurrently(40, () -> {
+            if (task.incrementAndGet() % 4 == 0) {
+                lowStockIndex.reconcile();
+            } else {
+                stockService.receiveStock(itemId, 2, StockMovement.MovementType.GRN_RECEIPT, "GRN-TEST");
+            }
+        });
+
+        assertEquals(60, stockService.getStockByItemId(itemId).getQuantityOnHand());
+        assertEquals(60, indexedQuantity(itemId));
+    }
+
+    private Long createItem(int reorderLevel) {
+        ItemDTO item = fixtures.newItem(fixtures.createCategory());
+        item.setReorderLevel(reorderLevel);
+        return fixtures.createItem(item);
+    }
+
+    private Integer indexedQuantity(Long itemId) {
+        return lowStockIndex.getLowStockItems(Integer.MAX_VALUE).stream()
+                .filter(item -> item.getItemId().equals(itemId))
+                .map(LowStockItemDTO::getCurrentStock)
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,117 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import com.InventoryFlow.InventoryFlow.TestFixtures;
+import com.InventoryFlow.InventoryFlow.dto.*;
+import com.InventoryFlow.InventoryFlow.entity.StockMovement;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProfitAnalyticsServiceTest {
+
+    @Autowired
+    private ProfitAnalyticsService profitAnalyticsService;
+
+    @Autowired
+    private ReportsService reportsService;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private GoodsIssueNoteService goodsIssueNoteService;
+
+    @Autowired
+    private InvoiceService invoiceService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void cubeTotalsMatchTheProfitReportWithDiscountAndTax() {
+        Long bolt = fixtures.createItem();
+        Long nut = fixtures.createItem();
+        stockService.receiveStock(bolt, 10, new BigDecimal("2"), StockMovement.MovementType.GRN_RECEIPT, "GRN-TEST");
+        stockService.receiveStock(nut, 10, BigDecimal.ONE, StockMovement.MovementType.GRN_RECEIPT, "GRN-TEST");
+        // A date range no other test uses
+        LocalDate orderDate = LocalDate.of(1980, 1, 1).plusDays(ThreadLocalRandom.current().nextInt(3000));
+
+        // Subtotal 21 + 10, total 31 - 5 + 2.17; the 2.83 off does not split evenly over the lines
+        SalesOrderDTO so = createSalesOrder(orderDate, new BigDecimal("5"), new BigDecimal("2.17"),
+                line(bolt, 3, "7"), line(nut, 4, "2.50"));
+        issueAndInvoice(so);
+
+        BigDecimal reportProfit = reportsService.getProfitReport(orderDate, orderDate);
+        List<ProfitCubeRowDTO> total = profitAnalyticsService.getProfitCube(orderDate, orderDate,
+                EnumSet.noneOf(ProfitAnalyticsService.Dimension.class));
+        assertEquals(1, total.size());
+        assertAmount("28.17", total.get(0).getRevenue());
+        assertAmount("10", total.get(0).getCost()); // 3 x 2 + 4 x 1
+        assertAmount(reportProfit.toPlainString(), total.get(0).getProfit());
+
+        List<ProfitCubeRowDTO> byItem = profitAnalyticsService.getProfitCube(orderDate, orderDate,
+                EnumSet.of(ProfitAnalyticsService.Dimension.ITEM));
+        assertAmount("28.17", byItem.stream().map(ProfitCubeRowDTO::getRevenue).reduce(BigDecimal.ZERO, BigDecimal::add));
+        assertAmount(reportProfit.toPlainString(),
+                byItem.stream().map(ProfitCubeRowDTO::getProfit).reduce(BigDecimal.ZERO, BigDecimal::add));
+    }
+
+    private static void assertAmount(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), () -> "expected " + expected + " but was " + actual);
+    }
+
+    private SalesOrderLineDTO line(Long itemId, int quantity, String unitPrice) {
+        SalesOrderLineDTO line = new SalesOrderLineDTO();
+        line.setItemId(itemId);
+        line.setQuantity(quantity);
+        line.setUnitPrice(new BigDecimal(unitPrice));
+        return line;
+    }
+
+    private SalesOrderDTO createSalesOrder(LocalDate orderDate, BigDecimal discount, BigDecimal tax,
+                                           SalesOrderLineDTO... lines) {
+        SalesOrderDTO so = new SalesOrderDTO();
+        so.setOrderDate(orderDate);
+        so.setCustomerName("Profit test customer");
+        so.setStatus("CONFIRMED");
+        so.setDiscount(discount);
+        so.setTax(tax);
+        so.setCreatedById(fixtures.adminId());
+        so.setOrderLines(List.of(lines));
+        return salesOrderService.createSalesOrder(so);
+    }
+
+    private void issueAndInvoice(SalesOrderDTO so) {
+        GoodsIssueNoteDTO gin = new GoodsIssueNoteDTO();
+        gin.setIssuedById(fixtures.adminId());
+        gin.setGinLines(so.getOrderLines().stream().map(orderLine -> {
+            GINLineDTO line = new GINLineDTO();
+            line.setItemId(orderLine.getItemId());
+            line.setQuantityOrdered(orderLine.getQuantity());
+            line.setQuantityIssued(orderLine.getQuantity());
+            line.setUnitPrice(orderLine.getUnitPrice());
+            return line;
+        }).toList());
+        goodsIssueNoteService.createGINFromSO(so.getId(), gin);
+
+        InvoiceDTO invoice = new InvoiceDTO();
+        invoice.setCreatedById(fixtures.adminId());
+        invoice.setDueDate(so.getOrderDate().plusDays(30));
+        invoice.setPaymentStatus("PENDING");
+        invoiceService.createInvoiceFromSO(so.getId(), invoice);
+    }
+}
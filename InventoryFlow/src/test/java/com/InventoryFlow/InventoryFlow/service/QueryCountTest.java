@@ -0,0 +1,173 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import com.InventoryFlow.InventoryFlow.TestFixtures;
+import com.InventoryFlow.InventoryFlow.dto.*;
+import com.InventoryFlow.InventoryFlow.entity.StockMovement;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// List and detail reads must cost a fixed number of statements, however many rows and lines they return
+@SpringBootTest
+@ActiveProfiles("test")
+class QueryCountTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private PurchaseOrderService purchaseOrderService;
+
+    @Autowired
+    private GoodsReceiveNoteService goodsReceiveNoteService;
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private GoodsIssueNoteService goodsIssueNoteService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Statistics statistics;
+    private List<Long> itemIds;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // Items in different categories, so a lazy category would cost one query per category
+        itemIds = List.of(createItem(fixtures.createCategory()), createItem(fixtures.createCategory()), createItem(fixtures.createCategory()));
+    }
+
+    @Test
+    void itemAndStockListsLoadCategoriesWithTheRows() {
+        assertStatements(1, () -> itemService.getLowStockItems());
+        assertStatements(1, () -> itemService.getAllItems());
+        assertStatements(1, () -> itemService.getActiveItems());
+        assertStatements(1, () -> itemService.getItemsPage(new PageQuery(50, null, null, null)));
+        assertStatements(1, () -> stockService.getAllStocks());
+        assertStatements(1, () -> stockService.getStocksPage(new PageQuery(50, null, null, null)));
+    }
+
+    @Test
+    void purchaseOrderAndGrnReadsDoNotGrowWithTheirLines() {
+        PurchaseOrderDTO po = createApprovedPurchaseOrder();
+        GoodsReceiveNoteDTO grn = receive(po);
+
+        assertStatements(1, () -> purchaseOrderService.getPOById(po.getId()));
+        assertStatements(1, () -> purchaseOrderService.getAllPOs());
+        assertStatements(1, () -> goodsReceiveNoteService.getGRNById(grn.getId()));
+        assertStatements(1, () -> goodsReceiveNoteService.getAllGRNs());
+    }
+
+    @Test
+    void salesOrderAndGinReadsDoNotGrowWithTheirLines() {
+        itemIds.forEach(id -> stockService.receiveStock(id, 10, BigDecimal.ONE,
+                StockMovement.MovementType.GRN_RECEIPT, "GRN-QC"));
+        SalesOrderDTO so = createSalesOrder();
+        GoodsIssueNoteDTO gin = issue(so);
+
+        assertStatements(1, () -> salesOrderService.getSalesOrderById(so.getId()));
+        assertStatements(1, () -> salesOrderService.getAllSalesOrders());
+        assertStatements(1, () -> goodsIssueNoteService.getGINById(gin.getId()));
+        assertStatements(1, () -> goodsIssueNoteService.getAllGINs());
+    }
+
+    private void assertStatements(long expected, Supplier<?> read) {
+        statistics.clear();
+        read.get();
+        assertEquals(expected, statistics.getPrepareStatementCount(), () -> "Statements: " + List.of(statistics.getQueries()));
+    }
+
+    private PurchaseOrderDTO createApprovedPurchaseOrder() {
+        SupplierDTO supplier = new SupplierDTO();
+        supplier.setName("Query count supplier " + UUID.randomUUID());
+        supplier.setActive(1);
+        Long supplierId = supplierService.createSupplier(supplier).getId();
+
+        PurchaseOrderDTO po = new PurchaseOrderDTO();
+        po.setSupplierId(supplierId);
+        po.setStatus("DRAFT");
+        po.setCreatedById(fixtures.adminId());
+        po.setOrderLines(itemIds.stream().map(id -> {
+            PurchaseOrderLineDTO line = new PurchaseOrderLineDTO();
+            line.setItemId(id);
+            line.setQuantity(5);
+            line.setUnitPrice(BigDecimal.ONE);
+            return line;
+        }).toList());
+        Long poId = purchaseOrderService.createPO(po).getId();
+        return purchaseOrderService.approvePO(poId, fixtures.adminId());
+    }
+
+    private GoodsReceiveNoteDTO receive(PurchaseOrderDTO po) {
+        GoodsReceiveNoteDTO grn = new GoodsReceiveNoteDTO();
+        grn.setReceivedById(fixtures.adminId());
+        grn.setGrnLines(itemIds.stream().map(id -> {
+            GRNLineDTO line = new GRNLineDTO();
+            line.setItemId(id);
+            line.setQuantityOrdered(5);
+            line.setQuantityReceived(5);
+            line.setUnitPrice(BigDecimal.ONE);
+            return line;
+        }).toList());
+        return goodsReceiveNoteService.createGRNFromPO(po.getId(), grn);
+    }
+
+    private SalesOrderDTO createSalesOrder() {
+        SalesOrderDTO so = new SalesOrderDTO();
+        so.setCustomerName("Query count customer");
+        so.setStatus("CONFIRMED");
+        so.setCreatedById(fixtures.adminId());
+        so.setOrderLines(itemIds.stream().map(id -> {
+            SalesOrderLineDTO line = new SalesOrderLineDTO();
+            line.setItemId(id);
+            line.setQuantity(2);
+            line.setUnitPrice(BigDecimal.TEN);
+            return line;
+        }).toList());
+        return salesOrderService.createSalesOrder(so);
+    }
+
+    private GoodsIssueNoteDTO issue(SalesOrderDTO so) {
+        GoodsIssueNoteDTO gin = new GoodsIssueNoteDTO();
+        gin.setIssuedById(fixtures.adminId());
+        gin.setGinLines(itemIds.stream().map(id -> {
+            GINLineDTO line = new GINLineDTO();
+            line.setItemId(id);
+            line.setQuantityOrdered(2);
+            line.setQuantityIssued(2);
+            line.setUnitPrice(BigDecimal.TEN);
+            return line;
+        }).toList());
+        return goodsIssueNoteService.createGINFromSO(so.getId(), gin);
+    }
+
+    private Long createItem(Long categoryId) {
+        ItemDTO item = fixtures.newItem(categoryId);
+        item.setReorderLevel(5);
+        return fixtures.createItem(item);
+    }
+}
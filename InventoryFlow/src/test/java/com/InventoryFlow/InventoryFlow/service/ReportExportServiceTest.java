@@ -0,0 +1,63 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import com.InventoryFlow.InventoryFlow.TestFixtures;
+import com.InventoryFlow.InventoryFlow.dto.SalesOrderDTO;
+import com.InventoryFlow.InventoryFlow.dto.SalesOrderLineDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ReportExportServiceTest {
+
+    @Autowired
+    private ReportExportService reportExportService;
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void csvTextThatLooksLikeAFormulaIsNeutralised() throws Exception {
+        // A date range no other test uses
+        LocalDate orderDate = LocalDate.of(1970, 1, 1).plusDays(ThreadLocalRandom.current().nextInt(3000));
+        String soNumber = createSalesOrder(orderDate, "=HYPERLINK(\"http://example.com\")", "15").getSoNumber();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reportExportService.writeSalesReportCsv(orderDate, orderDate, out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+
+        assertEquals(2, lines.length);
+        // Text gets the quote prefix; the negative total is a number and stays as it is
+        assertEquals(soNumber + ",\"'=HYPERLINK(\"\"http://example.com\"\")\"," + orderDate + ",-5.00,DRAFT", lines[1]);
+    }
+
+    private SalesOrderDTO createSalesOrder(LocalDate orderDate, String customerName, String discount) {
+        SalesOrderLineDTO line = new SalesOrderLineDTO();
+        line.setItemId(fixtures.createItem());
+        line.setQuantity(1);
+        line.setUnitPrice(BigDecimal.TEN);
+
+        SalesOrderDTO so = new SalesOrderDTO();
+        so.setOrderDate(orderDate);
+        so.setCustomerName(customerName);
+        so.setStatus("DRAFT");
+        so.setDiscount(new BigDecimal(discount));
+        so.setCreatedById(fixtures.adminId());
+        so.setOrderLines(List.of(line));
+        return salesOrderService.createSalesOrder(so);
+    }
+}
@@ -0,0 +1,101 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import com.InventoryFlow.InventoryFlow.TestFixtures;
+import com.InventoryFlow.InventoryFlow.entity.StockMovement;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StockLedgerServiceTest {
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void snapshotOfTodayIsRefusedUntilTheLagHasPassed() {
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> stockLedgerService.createSnapshot(LocalDate.now()));
+        assertTrue(e.getMessage().startsWith("Snapshot of " + LocalDate.now()), e.getMessage());
+    }
+
+    @Test
+    void movementsAfterTheSnapshotDayAreReplayedOnTopOfIt() {
+        Long itemId = fixtures.createItem();
+        stockService.receiveStock(itemId, 10, StockMovement.MovementType.GRN_RECEIPT, "GRN-TEST");
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+
+        stockLedgerService.createSnapshot(yesterday);
+
+        assertEquals(10, stockLedgerService.getLedgerBalance(itemId));
+        assertEquals(0, stockLedgerService.getStockAsOfByItemId(itemId, yesterday).getQuantityOnHand());
+        assertEquals(10, stockLedgerService.getStockAsOfByItemId(itemId, LocalDate.now()).getQuantityOnHand());
+    }
+
+    @Test
+    void rebuildRacingReceiptsKeepsEveryReceipt() throws Exception {
+        Long itemId = fixtures.createItem();
+
+        AtomicInteger task = new AtomicInteger();
+        fixtures.runConcurrently(40, () -> {
+            if (task.incrementAndGet() % 2 == 0) {
+                stockLedgerService.rebuildStock(itemId);
+            } else {
+                stockService.receiveStock(itemId, 3, StockMovement.MovementType.GRN_RECEIPT, "GRN-TEST");
+            }
+        });
+
+        assertEquals(60, stockService.getStockByItemId(itemId).getQuantityOnHand());
+        assertEquals(60, stockLedgerService.getLedgerBalance(itemId));
+    }
+
+    @Test
+    void movementCommittedAfterAHigherIdIsNotLost() throws Exception {
+        Long itemId = fixtures.createItem();
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // Takes the lower id and commits last
+            Future<?> slow = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                stockLedgerService.recordMovement(itemId, StockMovement.MovementType.ADJUSTMENT, 5, "ADJ-SLOW");
+                inserted.countDown();
+                try {
+                    release.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(inserted.await(30, TimeUnit.SECONDS));
+            stockLedgerService.recordMovement(itemId, StockMovement.MovementType.ADJUSTMENT, 7, "ADJ-FAST");
+            stockLedgerService.createSnapshot(LocalDate.now().minusDays(1));
+            assertEquals(7, stockLedgerService.getLedgerBalance(itemId));
+
+            release.countDown();
+            slow.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(12, stockLedgerService.getLedgerBalance(itemId));
+    }
+}
@@ -0,0 +1,67 @@
+package com.InventoryFlow.InventoryFlow.service;
+
+import com.InventoryFlow.InventoryFlow.TestFixtures;
+import com.InventoryFlow.InventoryFlow.entity.StockMovement;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StockServiceTest {
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void concurrentIssuesNeverTakeStockBelowZero() throws Exception {
+        Long itemId = fixtures.createItem();
+        stockService.receiveStock(itemId, 50, StockMovement.MovementType.GRN_RECEIPT, "GRN-TEST");
+
+        AtomicInteger issued = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        fixtures.runConcurrently(40, () -> {
+            try {
+                stockService.issueStock(itemId, 3, StockMovement.MovementType.GIN_ISSUE, "GIN-TEST");
+                issued.incrementAndGet();
+            } catch (RuntimeException e) {
+                assertTrue(e.getMessage().startsWith("Insufficient stock"), e.getMessage());
+                refused.incrementAndGet();
+            }
+        });
+
+        assertEquals(16, issued.get());
+        assertEquals(24, refused.get());
+        assertEquals(2, stockService.getStockByItemId(itemId).getQuantityOnHand());
+        assertEquals(2, stockLedgerService.getLedgerBalance(itemId));
+    }
+
+    @Test
+    void concurrentReceiptsAreAllApplied() throws Exception {
+        Long itemId = fixtures.createItem();
+
+        fixtures.runConcurrently(30, () -> stockService.receiveStock(itemId, 2,
+                StockMovement.MovementType.GRN_RECEIPT, "GRN-TEST"));
+
+        assertEquals(60, stockService.getStockByItemId(itemId).getQuantityOnHand());
+        assertEquals(60, stockLedgerService.getLedgerBalance(itemId));
+    }
+
+    @Test
+    void issueOfUnknownItemIsRejected() {
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> stockService.issueStock(-1L, 1, StockMovement.MovementType.GIN_ISSUE, "GIN-TEST"));
+        assertEquals("Stock not found", e.getMessage());
+    }
+}